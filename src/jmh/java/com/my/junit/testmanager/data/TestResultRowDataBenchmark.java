@@ -0,0 +1,48 @@
+package com.my.junit.testmanager.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нормализация имени метода строки результатов (ключ истории запусков).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestResultRowDataBenchmark {
+
+    @Param({"shouldProcessOrder", "shouldProcessOrder(int, String)", "shouldProcessOrder[3] amount=42"})
+    public String methodName;
+
+    private TestResultRowData row;
+
+    @Setup
+    public void setUp() {
+        row = TestResultRowData.builder()
+                .testClassName("OrderServiceTest")
+                .displayTestClassName("OrderServiceTest")
+                .methodName(methodName)
+                .currentResult("Success")
+                .durationFormatted("")
+                .build();
+    }
+
+    @Benchmark
+    public String getNormalizedMethodName() {
+        return row.getNormalizedMethodName();
+    }
+}
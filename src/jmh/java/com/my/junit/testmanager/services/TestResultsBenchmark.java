@@ -0,0 +1,91 @@
+package com.my.junit.testmanager.services;
+
+import com.intellij.execution.testframework.sm.runner.SMTestProxy;
+import com.my.junit.testmanager.data.TestResultRowData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Обработка результатов запуска: разбор SMTestProxy, нормализация имен методов
+ * и подготовка строк для tool window.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestResultsBenchmark {
+    private static final int METHODS_PER_CLASS = 20;
+
+    @Param({"100", "2000"})
+    public int testCount;
+
+    private List<SMTestProxy> proxies;
+    private String[] methodNames;
+    private List<TestResultRowData> rows;
+
+    @Setup
+    public void setUp() {
+        proxies = new ArrayList<>(testCount);
+        methodNames = new String[testCount];
+        rows = new ArrayList<>(testCount);
+        SMTestProxy suite = null;
+        for (int i = 0; i < testCount; i++) {
+            final var className = "com.example.module" + (i / METHODS_PER_CLASS) + ".ServiceTest";
+            if (i % METHODS_PER_CLASS == 0) {
+                suite = new SMTestProxy("ServiceTest", true, "java:suite://" + className);
+            }
+            final var methodName = i % 2 == 0 ? "shouldProcess" + i + "()" : "shouldProcess" + i + "(int)[" + i + "]";
+            final var test = new SMTestProxy(methodName, false, "java:test://" + className + "#shouldProcess" + i);
+            suite.addChild(test);
+            proxies.add(test);
+            methodNames[i] = methodName;
+            rows.add(TestResultRowData.builder()
+                    .testClassName("ServiceTest" + (i / METHODS_PER_CLASS))
+                    .displayTestClassName("ServiceTest" + (i / METHODS_PER_CLASS))
+                    .classQualifiedName(className)
+                    .methodName(methodName)
+                    .currentResult(i % 10 == 0 ? "Failed" : "Success")
+                    .previousResult("Success")
+                    .durationMillis(i)
+                    .durationFormatted("")
+                    .logOutput("")
+                    .previousLogOutput("")
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public void resolveTestInfo(Blackhole blackhole) {
+        for (var proxy : proxies) {
+            blackhole.consume(TestRunEventsListenerService.resolveTestInfo(proxy));
+        }
+    }
+
+    @Benchmark
+    public void stripMethodDecorators(Blackhole blackhole) {
+        for (var methodName : methodNames) {
+            blackhole.consume(TestRunEventsListenerService.stripMethodDecorators(methodName));
+        }
+    }
+
+    @Benchmark
+    public List<TestResultRowData> formatForDisplay() {
+        return TestResultsAggregatorService.formatForDisplay(rows);
+    }
+}
@@ -0,0 +1,73 @@
+package com.my.junit.testmanager.ui;
+
+import com.my.junit.testmanager.data.TestResultRowData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Фильтр статусов таблицы результатов: один проход по всем строкам, как при смене флажков в форме.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestResultsRowFilterBenchmark {
+    private static final int METHODS_PER_CLASS = 20;
+    private static final String[] STATUSES = {"Success", "Warning", "Failed", "Ignored"};
+
+    @Param({"100", "2000"})
+    public int rowCount;
+
+    private List<TestResultRowData> rows;
+    private TestResultsRowFilter allStatuses;
+    private TestResultsRowFilter failedRegressions;
+
+    @Setup
+    public void setUp() {
+        rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            final var className = "ServiceTest" + (i / METHODS_PER_CLASS);
+            rows.add(TestResultRowData.builder()
+                    .testClassName(className)
+                    .displayTestClassName(className)
+                    .methodName("shouldProcess" + i)
+                    .currentResult(STATUSES[i % STATUSES.length])
+                    .previousResult(STATUSES[(i / 7) % STATUSES.length])
+                    .durationFormatted("")
+                    .summaryRow(i % METHODS_PER_CLASS == METHODS_PER_CLASS - 1)
+                    .build());
+        }
+        allStatuses = new TestResultsRowFilter(true, false, true, true, true, true);
+        failedRegressions = new TestResultsRowFilter(true, true, false, false, true, false);
+    }
+
+    @Benchmark
+    public void allStatuses(Blackhole blackhole) {
+        for (var row : rows) {
+            blackhole.consume(allStatuses.include(row, rows));
+        }
+    }
+
+    @Benchmark
+    public void failedRegressionsOnly(Blackhole blackhole) {
+        for (var row : rows) {
+            blackhole.consume(failedRegressions.include(row, rows));
+        }
+    }
+}
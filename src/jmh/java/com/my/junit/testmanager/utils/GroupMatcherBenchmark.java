@@ -0,0 +1,85 @@
+package com.my.junit.testmanager.utils;
+
+import com.my.junit.testmanager.config.data.GroupData;
+import com.my.junit.testmanager.config.data.ProfileData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Определение группы тестового класса: скомпилированный {@link GroupMatcher}
+ * против последовательной проверки регулярных выражений групп.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupMatcherBenchmark {
+    private static final int PATHS = 1_000;
+
+    @Param({"5", "50"})
+    public int groupCount;
+
+    private GroupMatcher matcher;
+    private List<Pattern> patterns;
+    private String[] paths;
+
+    @Setup
+    public void setUp() {
+        final var groups = new ArrayList<GroupData>();
+        patterns = new ArrayList<>();
+        for (int i = 0; i < groupCount; i++) {
+            // Половина групп — литеральные префиксы пакетов, половина — настоящие регулярные выражения
+            final var regex = i % 2 == 0
+                    ? "com.example.module" + i + ".*"
+                    : ".*Module" + i + "(IT|Test)$";
+            groups.add(new GroupData("group" + i, regex, null, GroupData.COLOR_DEFAULT_HEX,
+                    List.of(ProfileData.DEFAULT)));
+            patterns.add(Pattern.compile(regex));
+        }
+        matcher = GroupMatcher.compile(groups, ProfileData.DEFAULT);
+
+        paths = new String[PATHS];
+        for (int i = 0; i < PATHS; i++) {
+            final var module = i % (groupCount * 2);
+            paths[i] = "com.example.module" + module + ".service.Module" + module + (i % 3 == 0 ? "IT" : "Test");
+        }
+    }
+
+    @Benchmark
+    public void compiledMatcher(Blackhole blackhole) {
+        for (var path : paths) {
+            blackhole.consume(matcher.match(path));
+        }
+    }
+
+    @Benchmark
+    public void sequentialPatterns(Blackhole blackhole) {
+        for (var path : paths) {
+            Pattern found = null;
+            for (var pattern : patterns) {
+                if (pattern.matcher(path).find()) {
+                    found = pattern;
+                    break;
+                }
+            }
+            blackhole.consume(found);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.my.junit.testmanager.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Получение сообщений из бандла: без параметров и с форматированием.
+ * Вне IDE используются настройки по умолчанию (см. TestManagerConfig.getInstance).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessagesBundleBenchmark {
+
+    @Benchmark
+    public String plainMessage() {
+        return MessagesBundle.message("toolwindow.results.row.total");
+    }
+
+    @Benchmark
+    public String formattedMessage() {
+        return MessagesBundle.message("toolwindow.results.duration.ms", 1234L);
+    }
+}
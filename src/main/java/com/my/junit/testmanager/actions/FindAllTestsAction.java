@@ -3,32 +3,26 @@ package com.my.junit.testmanager.actions;
 import com.intellij.openapi.actionSystem.ActionUpdateThread;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.DumbAware;
 import com.my.junit.testmanager.data.SearchType;
-import com.my.junit.testmanager.model.TestClassInfoTableModel;
-import com.my.junit.testmanager.services.TestClassesFinder;
-import com.my.junit.testmanager.ui.TestConfigurationsForm;
+import com.my.junit.testmanager.tasks.FindTestsTask;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Действие для поиска и отображения всех тестовых классов в проекте.
  */
-public class FindAllTestsAction extends AnAction {
+public class FindAllTestsAction extends AnAction implements DumbAware {
     @Override
     public void actionPerformed(AnActionEvent e) {
         final var project = e.getProject();
         if (project == null) {
             return;
         }
-        final var testClassCollector = new TestClassesFinder(project);
-        final var allTests = testClassCollector.collect(
+        new FindTestsTask(
+                project,
                 SearchType.ALL,
                 null
-        );
-
-        new TestConfigurationsForm(
-                new TestClassInfoTableModel(allTests),
-                project
-        ).showAndGet();
+        ).queueAndShowResults();
     }
 
     @Override
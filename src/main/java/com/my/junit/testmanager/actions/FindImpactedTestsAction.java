@@ -0,0 +1,32 @@
+package com.my.junit.testmanager.actions;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.my.junit.testmanager.data.SearchType;
+import com.my.junit.testmanager.tasks.FindTestsTask;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Действие для поиска тестовых классов, затронутых незакоммиченными изменениями исходников и тестов.
+ */
+public class FindImpactedTestsAction extends AnAction {
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        final var project = e.getProject();
+        if (project == null) {
+            return;
+        }
+        new FindTestsTask(
+                project,
+                SearchType.IMPACT,
+                null
+        ).queueAndShowResults();
+    }
+
+    @Override
+    @NotNull
+    public ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
@@ -4,9 +4,7 @@ import com.intellij.openapi.actionSystem.ActionUpdateThread;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.my.junit.testmanager.data.SearchType;
-import com.my.junit.testmanager.model.TestClassInfoTableModel;
-import com.my.junit.testmanager.services.TestClassesFinder;
-import com.my.junit.testmanager.ui.TestConfigurationsForm;
+import com.my.junit.testmanager.tasks.FindTestsTask;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -19,16 +17,11 @@ public class FindTestsInChangesAction extends AnAction {
         if (project == null) {
             return;
         }
-        final var testClassCollector = new TestClassesFinder(project);
-        final var diffTests = testClassCollector.collect(
+        new FindTestsTask(
+                project,
                 SearchType.CHANGES,
                 null
-        );
-
-        new TestConfigurationsForm(
-                new TestClassInfoTableModel(diffTests),
-                project
-        ).showAndGet();
+        ).queueAndShowResults();
     }
 
     @Override
@@ -3,10 +3,9 @@ package com.my.junit.testmanager.actions;
 import com.intellij.openapi.actionSystem.ActionUpdateThread;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.DumbAware;
 import com.my.junit.testmanager.data.SearchType;
-import com.my.junit.testmanager.model.TestClassInfoTableModel;
-import com.my.junit.testmanager.services.TestClassesFinder;
-import com.my.junit.testmanager.ui.TestConfigurationsForm;
+import com.my.junit.testmanager.tasks.FindTestsTask;
 import org.jetbrains.annotations.NotNull;
 
 import static com.intellij.openapi.actionSystem.CommonDataKeys.VIRTUAL_FILE;
@@ -14,7 +13,7 @@ import static com.intellij.openapi.actionSystem.CommonDataKeys.VIRTUAL_FILE;
 /**
  * Действие для поиска тестов в выбранной директории.
  */
-public class FindTestsInDirectoryAction extends AnAction {
+public class FindTestsInDirectoryAction extends AnAction implements DumbAware {
 
     @Override
     public void update(AnActionEvent e) {
@@ -28,17 +27,11 @@ public class FindTestsInDirectoryAction extends AnAction {
         final var project = e.getProject();
         final var directory = e.getData(VIRTUAL_FILE);
         if (project != null && directory != null && directory.isDirectory()) {
-
-            final var testClassCollector = new TestClassesFinder(project);
-            final var directoryTests = testClassCollector.collect(
+            new FindTestsTask(
+                    project,
                     SearchType.DIRECTORY,
                     directory
-            );
-
-            new TestConfigurationsForm(
-                    new TestClassInfoTableModel(directoryTests),
-                    project
-            ).showAndGet();
+            ).queueAndShowResults();
         }
     }
 
@@ -0,0 +1,53 @@
+package com.my.junit.testmanager.actions;
+
+import com.intellij.ide.util.PropertiesComponent;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.ui.Messages;
+import com.my.junit.testmanager.data.SearchType;
+import com.my.junit.testmanager.tasks.FindTestsTask;
+import org.jetbrains.annotations.NotNull;
+
+import static com.my.junit.testmanager.utils.MessagesBundle.message;
+
+/**
+ * Действие для поиска тестовых классов, измененных относительно ветки (от merge-base) или коммита.
+ */
+public class FindTestsSinceRevisionAction extends AnAction {
+    private static final String LAST_REVISION_KEY = "JUnitTestManager.lastBaseRevision";
+    private static final String DEFAULT_REVISION = "main";
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        final var project = e.getProject();
+        if (project == null) {
+            return;
+        }
+        final var properties = PropertiesComponent.getInstance(project);
+        final var baseRevision = Messages.showInputDialog(
+                project,
+                message("dialog.base.revision.prompt"),
+                message("dialog.title.base.revision"),
+                Messages.getQuestionIcon(),
+                properties.getValue(LAST_REVISION_KEY, DEFAULT_REVISION),
+                null
+        );
+        if (baseRevision == null || baseRevision.isBlank()) {
+            return;
+        }
+        properties.setValue(LAST_REVISION_KEY, baseRevision.trim());
+        new FindTestsTask(
+                project,
+                SearchType.REVISION_CHANGES,
+                null,
+                baseRevision.trim()
+        ).queueAndShowResults();
+    }
+
+    @Override
+    @NotNull
+    public ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
@@ -4,14 +4,9 @@ import com.intellij.openapi.actionSystem.ActionUpdateThread;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.my.junit.testmanager.data.SearchType;
-import com.my.junit.testmanager.model.TestClassRelocationTableModel;
-import com.my.junit.testmanager.services.RelocationAnalyzer;
-import com.my.junit.testmanager.ui.TableRelocationForm;
-import com.my.junit.testmanager.utils.MessagesDialogUtils;
+import com.my.junit.testmanager.tasks.RelocationAnalysisTask;
 import org.jetbrains.annotations.NotNull;
 
-import static com.my.junit.testmanager.utils.MessagesBundle.message;
-
 /**
  * Действие для релокации тестов, связанных с изменениями в последних коммитах.
  */
@@ -24,28 +19,13 @@ public class RelocateChangesTestsAction extends AnAction {
             return;
         }
 
-        final var analyzer = new RelocationAnalyzer(project);
-
-        final var items = analyzer.analyze(SearchType.CHANGES);
-        if (items.isEmpty()) {
-
-            MessagesDialogUtils.messageWarn(
-                    project,
-                    message("dialog.relocate.tests.no.tests.found")
-            );
-            return;
-        }
-
-        new TableRelocationForm(
-                new TestClassRelocationTableModel(items),
-                project
-        ).showAndGet();
+        new RelocationAnalysisTask(project, SearchType.CHANGES).queue();
     }
 
     @Override
     @NotNull
     public ActionUpdateThread getActionUpdateThread() {
-        return ActionUpdateThread.EDT;
+        return ActionUpdateThread.BGT;
     }
 }
 
@@ -0,0 +1,14 @@
+package com.my.junit.testmanager.config;
+
+import com.my.junit.testmanager.utils.LoggerUtils;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Обновляет кэшированный признак включения логирования в {@link LoggerUtils} при изменении настроек.
+ */
+public class LoggingSettingsListener implements TestManagerSettingsListener {
+    @Override
+    public void settingsChanged(@NotNull TestManagerConfig settings) {
+        LoggerUtils.setLoggingEnabled(settings.isLoggingEnabled());
+    }
+}
@@ -15,6 +15,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
 @State(
         name = "JunitTestManagerSettings",
@@ -26,6 +27,11 @@ import java.util.Locale;
 @Data
 @EqualsAndHashCode(callSuper = true)
 public class TestManagerConfig extends AbstractPersistentStateComponent<TestManagerConfig> {
+    public static final int DEFAULT_DISCOVERY_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    public static final int MAX_DISCOVERY_PARALLELISM = 64;
+    public static final List<String> DEFAULT_TEST_NAMING_CONVENTIONS = List.of(
+            "*Test", "*Tests", "*IT", "*IntegrationTest", "*Spec", "Test*"
+    );
 
     /**
      * Язык интерфейса плагина (по умолчанию английский).
@@ -37,6 +43,16 @@ public class TestManagerConfig extends AbstractPersistentStateComponent<TestMana
      */
     private boolean loggingEnabled = true;
 
+    /**
+     * Максимальное количество модулей, обрабатываемых параллельно при поиске тестов.
+     */
+    private int discoveryParallelism = DEFAULT_DISCOVERY_PARALLELISM;
+
+    /**
+     * Соглашения об именовании тестовых классов: {@code *Test} — суффикс, {@code Test*} — префикс.
+     */
+    private List<String> testNamingConventions = new ArrayList<>(DEFAULT_TEST_NAMING_CONVENTIONS);
+
     /**
      * Список групп
      */
@@ -56,8 +72,12 @@ public class TestManagerConfig extends AbstractPersistentStateComponent<TestMana
      * Получает единственный экземпляр настроек плагина.
      */
     public static TestManagerConfig getInstance() {
-        final var instance = ApplicationManager.getApplication()
-                .getService(TestManagerConfig.class);
+        final var application = ApplicationManager.getApplication();
+        if (application == null) {
+            // Вне IDE (бенчмарки, утилиты) используются настройки по умолчанию
+            return new TestManagerConfig();
+        }
+        final var instance = application.getService(TestManagerConfig.class);
         if (instance == null) {
             return new TestManagerConfig();
         }
@@ -71,7 +91,9 @@ public class TestManagerConfig extends AbstractPersistentStateComponent<TestMana
     @Override
     public boolean isStateEquals(@NotNull TestManagerConfig other) {
         return this.loggingEnabled == other.loggingEnabled
+                && this.discoveryParallelism == other.discoveryParallelism
                 && this.languageName.equals(other.languageName)
+                && Objects.equals(this.testNamingConventions, other.testNamingConventions)
                 && isListEquals(this.groups, other.groups)
                 && isListEquals(this.profiles, other.profiles)
                 && this.activeProfile.equals(other.activeProfile);
@@ -0,0 +1,22 @@
+package com.my.junit.testmanager.config;
+
+import com.intellij.util.messages.Topic;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Слушатель изменений настроек плагина.
+ * Публикуется на шине сообщений приложения после применения настроек.
+ */
+public interface TestManagerSettingsListener {
+    Topic<TestManagerSettingsListener> TOPIC = Topic.create(
+            "JUnit Test Manager settings",
+            TestManagerSettingsListener.class
+    );
+
+    /**
+     * Вызывается после применения новых настроек.
+     *
+     * @param settings актуальные настройки плагина
+     */
+    void settingsChanged(@NotNull TestManagerConfig settings);
+}
@@ -12,6 +12,14 @@ public enum SearchType {
      * Поиск тестовых классов, измененных в последних коммитах.
      */
     CHANGES,
+    /**
+     * Поиск тестовых классов, измененных относительно ветки или коммита (включая незакоммиченные).
+     */
+    REVISION_CHANGES,
+    /**
+     * Поиск тестовых классов, затронутых измененными классами (прямые и транзитивные ссылки).
+     */
+    IMPACT,
     /**
      * Поиск тестовых классов в указанной директории.
      */
@@ -1,12 +1,20 @@
 package com.my.junit.testmanager.data;
 
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiClass;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
 import com.my.junit.testmanager.config.data.GroupData;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Данные о тестовом классе.
+ * Вместо PsiClass хранится {@link SmartPsiElementPointer}: строка таблицы не удерживает PSI-дерево
+ * файла в памяти и переживает перепарсинг, а сам класс разрешается только при обращении к строке.
  */
 @Data
 public class TestClassInfoData {
@@ -19,13 +27,19 @@ public class TestClassInfoData {
      */
     private final String path;
     /**
-     * PsiClass тестового класса.
+     * Указатель на PsiClass тестового класса.
      */
-    private final PsiClass psiClass;
+    @Getter(AccessLevel.NONE)
+    private final SmartPsiElementPointer<PsiClass> pointer;
     /**
      * Группа, к которой относится тестовый класс.
      */
     private GroupData group = GroupData.DEFAULT;
+    /**
+     * Количество тестовых методов класса (включая унаследованные) или null, если методы не подсчитывались.
+     */
+    @Nullable
+    private TestMethodCounts methodCounts;
 
     public static TestClassInfoData of(
             @NotNull String name,
@@ -48,6 +62,26 @@ public class TestClassInfoData {
                 : psiClass.getContainingFile()
                         .getVirtualFile()
                         .getPath();
-        this.psiClass = psiClass;
+        this.pointer = SmartPointerManager.createPointer(psiClass);
+    }
+
+    /**
+     * Разрешает PsiClass тестового класса. Вызывается в EDT или внутри read action.
+     *
+     * @return PsiClass или null, если класс удален
+     */
+    @Nullable
+    public PsiClass getPsiClass() {
+        return pointer.getElement();
+    }
+
+    /**
+     * Возвращает файл тестового класса без разрешения PSI.
+     *
+     * @return файл или null, если он удален
+     */
+    @Nullable
+    public VirtualFile getVirtualFile() {
+        return pointer.getVirtualFile();
     }
 }
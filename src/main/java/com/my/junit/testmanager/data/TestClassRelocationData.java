@@ -1,11 +1,18 @@
 package com.my.junit.testmanager.data;
 
 import com.intellij.psi.PsiClass;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Данные о релокации тестового класса.
+ * PsiClass хранится через {@link SmartPsiElementPointer} и разрешается только для строк,
+ * с которыми выполняется действие.
  */
 @Data
 public class TestClassRelocationData {
@@ -26,9 +33,10 @@ public class TestClassRelocationData {
      */
     private boolean selected = false;
     /**
-     * PsiClass тестового класса.
+     * Указатель на PsiClass тестового класса.
      */
-    private final PsiClass psiClass;
+    @Getter(AccessLevel.NONE)
+    private final SmartPsiElementPointer<PsiClass> pointer;
 
     public static TestClassRelocationData of(
             @NotNull String name,
@@ -36,19 +44,28 @@ public class TestClassRelocationData {
             @NotNull String newPath,
             @NotNull PsiClass psiClass
     ) {
-        return new TestClassRelocationData(name, oldPath, newPath, psiClass);
+        return new TestClassRelocationData(name, oldPath, newPath, SmartPointerManager.createPointer(psiClass));
     }
 
     private TestClassRelocationData(
             @NotNull String name,
             @NotNull String oldPath,
             @NotNull String newPath,
-            @NotNull PsiClass psiClass
+            @NotNull SmartPsiElementPointer<PsiClass> pointer
     ) {
         this.name = name;
         this.oldPath = oldPath;
         this.newPath = newPath;
-        this.psiClass = psiClass;
+        this.pointer = pointer;
     }
-}
 
+    /**
+     * Разрешает PsiClass тестового класса. Вызывается в EDT или внутри read action.
+     *
+     * @return PsiClass или null, если класс удален
+     */
+    @Nullable
+    public PsiClass getPsiClass() {
+        return pointer.getElement();
+    }
+}
@@ -0,0 +1,19 @@
+package com.my.junit.testmanager.data;
+
+/**
+ * Enum признаков, по которым файл считается содержащим тестовые классы.
+ */
+public enum TestMarker {
+    /**
+     * В файле есть аннотация, имя которой содержит "Test" (JUnit 4, JUnit 5, TestNG и т.д.).
+     */
+    TEST_ANNOTATION,
+    /**
+     * В файле есть класс, наследующийся от TestCase (JUnit 3).
+     */
+    TEST_CASE,
+    /**
+     * В файле объявлен класс, имя которого заканчивается на "Test".
+     */
+    TEST_NAME
+}
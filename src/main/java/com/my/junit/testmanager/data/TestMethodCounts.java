@@ -0,0 +1,39 @@
+package com.my.junit.testmanager.data;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Количество тестовых методов класса (включая унаследованные) по типам аннотаций.
+ * Для классов, методы которых не подсчитывались (например, предварительные результаты поиска),
+ * вместо экземпляра используется null, поэтому нулевое количество означает, что тестов в классе нет.
+ *
+ * @param tests         методы с {@code @Test}
+ * @param parameterized методы с {@code @ParameterizedTest}
+ * @param repeated      методы с {@code @RepeatedTest}
+ * @param factories     методы с {@code @TestFactory}
+ */
+public record TestMethodCounts(
+        int tests,
+        int parameterized,
+        int repeated,
+        int factories
+) implements Comparable<TestMethodCounts> {
+    /**
+     * Общее количество тестовых методов.
+     *
+     * @return сумма по всем типам
+     */
+    public int total() {
+        return tests + parameterized + repeated + factories;
+    }
+
+    @Override
+    public int compareTo(@NotNull TestMethodCounts other) {
+        return Integer.compare(total(), other.total());
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(total());
+    }
+}
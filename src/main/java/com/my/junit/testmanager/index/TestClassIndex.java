@@ -0,0 +1,90 @@
+package com.my.junit.testmanager.index;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.indexing.ScalarIndexExtension;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.my.junit.testmanager.data.TestMarker;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Файловый индекс Java-файлов, содержащих признаки тестовых классов.
+ * Для каждого файла хранит набор {@link TestMarker}, найденных в его тексте,
+ * что позволяет искать тесты без построения PSI для файлов без тестов.
+ */
+public class TestClassIndex extends ScalarIndexExtension<String> {
+    public static final ID<String, Void> NAME = ID.create("com.my.junit.testmanager.TestClassIndex");
+
+    private static final int VERSION = 1;
+
+    /**
+     * Аннотация, имя которой содержит "Test" (например, @Test, @org.junit.Test, @SpringBootTest).
+     */
+    private static final Pattern TEST_ANNOTATION_PATTERN = Pattern.compile("@\\s*[\\w.]*Test");
+    /**
+     * Наследование от TestCase (JUnit 3).
+     */
+    private static final Pattern TEST_CASE_PATTERN =
+            Pattern.compile("\\bextends\\s+(?:junit\\.framework\\.)?TestCase\\b");
+    /**
+     * Объявление класса с именем, заканчивающимся на "Test".
+     */
+    private static final Pattern TEST_NAME_PATTERN =
+            Pattern.compile("\\b(?:class|interface|enum|record)\\s+\\w*Test\\b");
+
+    @Override
+    @NotNull
+    public ID<String, Void> getName() {
+        return NAME;
+    }
+
+    @Override
+    @NotNull
+    public DataIndexer<String, Void, FileContent> getIndexer() {
+        return inputData -> {
+            final var text = inputData.getContentAsText();
+            final var markers = new HashMap<String, Void>();
+            if (TEST_ANNOTATION_PATTERN.matcher(text).find()) {
+                markers.put(TestMarker.TEST_ANNOTATION.name(), null);
+            }
+            if (TEST_CASE_PATTERN.matcher(text).find()) {
+                markers.put(TestMarker.TEST_CASE.name(), null);
+            }
+            if (TEST_NAME_PATTERN.matcher(text).find()) {
+                markers.put(TestMarker.TEST_NAME.name(), null);
+            }
+            return markers.isEmpty() ? Map.of() : markers;
+        };
+    }
+
+    @Override
+    @NotNull
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    @NotNull
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(JavaFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+}
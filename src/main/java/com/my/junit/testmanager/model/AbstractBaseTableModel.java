@@ -51,6 +51,15 @@ public abstract class AbstractBaseTableModel<T> extends AbstractTableModel {
         fireTableRowsInserted(items.size() - 1, items.size() - 1);
     }
 
+    public void addRows(@NotNull List<T> newItems) {
+        if (newItems.isEmpty()) {
+            return;
+        }
+        final var firstRow = items.size();
+        items.addAll(newItems);
+        fireTableRowsInserted(firstRow, items.size() - 1);
+    }
+
     public void updateRow(int rowIndex, @NotNull T item) {
         if (rowIndex >= 0 && rowIndex < items.size()) {
             items.set(rowIndex, item);
@@ -0,0 +1,57 @@
+package com.my.junit.testmanager.model;
+
+import com.my.junit.testmanager.utils.PhaseMetrics;
+import org.jetbrains.annotations.NotNull;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+import static com.my.junit.testmanager.utils.MessagesBundle.message;
+
+/**
+ * Модель таблицы замеров операций на вкладке диагностики.
+ */
+public class PhaseMetricsTableModel extends AbstractBaseTableModel<PhaseMetrics> {
+
+    private final String[] columnNames = {
+            message("table.column.diagnostics.operation"),
+            message("table.column.diagnostics.started"),
+            message("table.column.diagnostics.elapsed"),
+            message("table.column.diagnostics.results"),
+    };
+
+    public PhaseMetricsTableModel(@NotNull List<PhaseMetrics> items) {
+        super(items);
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        if (rowIndex < 0 || rowIndex >= items.size()) {
+            return null;
+        }
+        final var item = items.get(rowIndex);
+        return switch (columnIndex) {
+            case 0 -> item.getOperation();
+            case 1 -> new SimpleDateFormat("HH:mm:ss").format(new Date(item.getStartedAtMillis()));
+            case 2 -> item.getElapsedMillis();
+            case 3 -> item.get(PhaseMetrics.Counter.RESULTS);
+            default -> null;
+        };
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return columnIndex == 2 || columnIndex == 3 ? Long.class : String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int rowIndex, int columnIndex) {
+        return false;
+    }
+
+    @Override
+    public String[] getColumnNames() {
+        return columnNames;
+    }
+}
@@ -16,6 +16,7 @@ public class TestClassInfoTableModel extends AbstractBaseTableModel<TestClassInf
             message("table.column.test.class.name"),
             message("table.column.path"),
             message("table.column.group"),
+            message("table.column.test.methods"),
     };
 
     public TestClassInfoTableModel(@NotNull List<TestClassInfoData> items) {
@@ -32,6 +33,7 @@ public class TestClassInfoTableModel extends AbstractBaseTableModel<TestClassInf
             case 0 -> item.getName();
             case 1 -> item.getPath();
             case 2 -> item.getGroup();
+            case 3 -> item.getMethodCounts();
             default -> null;
         };
     }
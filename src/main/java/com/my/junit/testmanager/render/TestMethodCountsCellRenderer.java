@@ -0,0 +1,54 @@
+package com.my.junit.testmanager.render;
+
+import com.my.junit.testmanager.data.TestMethodCounts;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.awt.*;
+
+import static com.my.junit.testmanager.utils.MessagesBundle.message;
+
+/**
+ * Рендерер для отображения количества тестовых методов: общее число в ячейке, разбивка по типам в подсказке.
+ * Для неподсчитанных классов (значение null) ячейка остается пустой, для подсчитанных без тестов выводится 0.
+ */
+public class TestMethodCountsCellRenderer extends DefaultTableCellRenderer {
+
+    public TestMethodCountsCellRenderer() {
+        setHorizontalAlignment(SwingConstants.RIGHT);
+    }
+
+    @Override
+    public Component getTableCellRendererComponent(
+            JTable table,
+            Object value,
+            boolean isSelected,
+            boolean hasFocus,
+            int row,
+            int column
+    ) {
+        super.getTableCellRendererComponent(
+                table,
+                value,
+                isSelected,
+                hasFocus,
+                row,
+                column
+        );
+
+        if (value instanceof TestMethodCounts counts) {
+            setText(String.valueOf(counts.total()));
+            setToolTipText(message(
+                    "table.column.test.methods.tooltip",
+                    counts.tests(),
+                    counts.parameterized(),
+                    counts.repeated(),
+                    counts.factories()
+            ));
+        } else {
+            setToolTipText(null);
+        }
+
+        return this;
+    }
+}
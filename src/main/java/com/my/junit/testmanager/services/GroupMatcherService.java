@@ -0,0 +1,50 @@
+package com.my.junit.testmanager.services;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.my.junit.testmanager.config.TestManagerConfig;
+import com.my.junit.testmanager.config.TestManagerSettingsListener;
+import com.my.junit.testmanager.utils.GroupMatcher;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Хранит скомпилированный {@link GroupMatcher} для текущих настроек.
+ * Снимок создается при первом обращении и сбрасывается при изменении настроек.
+ */
+@Service(Service.Level.APP)
+public final class GroupMatcherService implements Disposable {
+    private volatile GroupMatcher matcher;
+
+    public GroupMatcherService() {
+        ApplicationManager.getApplication()
+                .getMessageBus()
+                .connect(this)
+                .subscribe(TestManagerSettingsListener.TOPIC, settings -> matcher = null);
+    }
+
+    @NotNull
+    public static GroupMatcherService getInstance() {
+        return ApplicationManager.getApplication().getService(GroupMatcherService.class);
+    }
+
+    /**
+     * Возвращает снимок правил групп для текущих настроек.
+     *
+     * @return скомпилированные правила
+     */
+    @NotNull
+    public GroupMatcher getMatcher() {
+        var current = matcher;
+        if (current == null) {
+            current = GroupMatcher.compile(TestManagerConfig.getInstance());
+            matcher = current;
+        }
+        return current;
+    }
+
+    @Override
+    public void dispose() {
+        matcher = null;
+    }
+}
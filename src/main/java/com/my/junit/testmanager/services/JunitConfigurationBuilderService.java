@@ -0,0 +1,188 @@
+package com.my.junit.testmanager.services;
+
+import com.intellij.execution.RunManager;
+import com.intellij.execution.RunnerAndConfigurationSettings;
+import com.intellij.execution.configurations.ConfigurationFactory;
+import com.intellij.execution.configurations.ConfigurationTypeUtil;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiClass;
+import com.my.junit.testmanager.config.data.GroupData;
+import com.my.junit.testmanager.utils.LoggerUtils;
+import com.my.junit.testmanager.utils.MessagesDialogUtils;
+import com.my.junit.testmanager.utils.PhaseMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.my.junit.testmanager.utils.MessagesBundle.message;
+
+/**
+ * Создает JUnit тестовые конфигурации для групп тестовых классов.
+ * Плагин JUnit не является зависимостью, поэтому методы конфигурации вызываются через
+ * {@link MethodHandle}, которые разрешаются один раз на класс конфигурации и кэшируются.
+ * Конфигурации всех групп собираются одним пакетом и затем регистрируются в {@link RunManager}
+ * одним проходом; время пакета записывается в диагностику.
+ */
+@Service(Service.Level.APP)
+public final class JunitConfigurationBuilderService {
+    private static final String JUNIT_CONFIGURATION_TYPE = "JUnit";
+    private static final String PSI_METHOD_CLASS = "com.intellij.psi.PsiMethod";
+    private static final String GENERATION_OPERATION = "Run configuration generation";
+
+    private static final LoggerUtils log = LoggerUtils.getLogger(JunitConfigurationBuilderService.class);
+
+    /**
+     * Методы конфигурации JUnit, разрешенные для конкретного класса конфигурации.
+     *
+     * @param bePatternConfiguration {@code bePatternConfiguration(List, PsiMethod)}
+     * @param setVmParameters        {@code setVMParameters(String)}
+     */
+    private record JunitHandles(
+            @NotNull MethodHandle bePatternConfiguration,
+            @NotNull MethodHandle setVmParameters
+    ) {}
+
+    /**
+     * Кэш методов по классу конфигурации; значение освобождается вместе с классом при выгрузке плагина JUnit.
+     */
+    private static final ClassValue<JunitHandles> HANDLES = new ClassValue<>() {
+        @Override
+        protected JunitHandles computeValue(@NotNull Class<?> configurationClass) {
+            try {
+                final var lookup = MethodHandles.publicLookup();
+                final var psiMethodClass = configurationClass.getClassLoader().loadClass(PSI_METHOD_CLASS);
+                final var bePatternConfiguration = lookup
+                        .unreflect(configurationClass.getMethod("bePatternConfiguration", List.class, psiMethodClass))
+                        .asType(MethodType.methodType(void.class, Object.class, List.class, Object.class));
+                final var setVmParameters = lookup
+                        .unreflect(configurationClass.getMethod("setVMParameters", String.class))
+                        .asType(MethodType.methodType(void.class, Object.class, String.class));
+                log.logInfo("JUnit configuration methods resolved for " + configurationClass.getName());
+                return new JunitHandles(bePatternConfiguration, setVmParameters);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("JUnit configuration methods not found in "
+                        + configurationClass.getName(), e);
+            }
+        }
+    };
+
+    /**
+     * Результат пакетного создания конфигураций.
+     *
+     * @param created       количество созданных конфигураций
+     * @param failed        количество групп, для которых конфигурацию создать не удалось
+     * @param elapsedMillis время пакета в миллисекундах
+     */
+    public record BatchResult(int created, int failed, long elapsedMillis) {}
+
+    @NotNull
+    public static JunitConfigurationBuilderService getInstance() {
+        return ApplicationManager.getApplication().getService(JunitConfigurationBuilderService.class);
+    }
+
+    /**
+     * Создает по одной конфигурации на группу. Вызывается из EDT.
+     * Ошибки отдельных групп не прерывают пакет и показываются одним сообщением после него.
+     *
+     * @param project        текущий проект
+     * @param classesByGroup классы для конфигурации по группам
+     * @return результат пакета
+     */
+    @NotNull
+    public BatchResult createConfigurations(
+            @NotNull Project project,
+            @NotNull Map<GroupData, List<PsiClass>> classesByGroup
+    ) {
+        final var metrics = new PhaseMetrics(GENERATION_OPERATION);
+        try {
+            final var type = ConfigurationTypeUtil.findConfigurationType(JUNIT_CONFIGURATION_TYPE);
+            if (type == null) {
+                log.logInfo("JUnit configuration type not found");
+                MessagesDialogUtils.messageWarn(
+                        project,
+                        message("dialog.junit.plugin.not.enabled")
+                );
+                return new BatchResult(0, classesByGroup.size(), metrics.getElapsedMillis());
+            }
+
+            final var runManager = RunManager.getInstance(project);
+            final var factory = type.getConfigurationFactories()[0];
+            final var settingsBatch = new ArrayList<RunnerAndConfigurationSettings>(classesByGroup.size());
+            var failed = 0;
+            try (var ignored = metrics.phase(PhaseMetrics.PHASE_CONFIGURATION_BUILD)) {
+                for (var entry : classesByGroup.entrySet()) {
+                    final var settings = buildConfiguration(runManager, factory, entry.getKey(), entry.getValue());
+                    if (settings != null) {
+                        settingsBatch.add(settings);
+                    } else {
+                        failed++;
+                    }
+                }
+            }
+            try (var ignored = metrics.phase(PhaseMetrics.PHASE_CONFIGURATION_REGISTRATION)) {
+                settingsBatch.forEach(runManager::addConfiguration);
+            }
+            metrics.add(PhaseMetrics.Counter.RESULTS, settingsBatch.size());
+
+            if (failed > 0) {
+                MessagesDialogUtils.messageError(
+                        project,
+                        message("dialog.test.configurations.creation.failed")
+                );
+            }
+            final var result = new BatchResult(settingsBatch.size(), failed, metrics.getElapsedMillis());
+            log.logInfo("Configurations created: " + result.created() + ", failed: " + result.failed()
+                    + ", in " + result.elapsedMillis() + " ms");
+            return result;
+        } finally {
+            PhaseMetricsService.getInstance(project).record(metrics);
+        }
+    }
+
+    /**
+     * Собирает конфигурацию группы без регистрации в {@link RunManager}.
+     *
+     * @param runManager менеджер конфигураций проекта
+     * @param factory    фабрика конфигураций JUnit
+     * @param group      группа с VM аргументами
+     * @param psiClasses классы для конфигурации
+     * @return настройки конфигурации или null, если ее не удалось собрать
+     */
+    @Nullable
+    private RunnerAndConfigurationSettings buildConfiguration(
+            @NotNull RunManager runManager,
+            @NotNull ConfigurationFactory factory,
+            @NotNull GroupData group,
+            @NotNull List<PsiClass> psiClasses
+    ) {
+        var configName = group.getName();
+        if (psiClasses.size() > 1) {
+            configName += " (Multiple Classes) size " + psiClasses.size();
+        }
+        try {
+            final var settings = runManager.createConfiguration(configName, factory);
+            final Object config = settings.getConfiguration();
+            final var handles = HANDLES.get(config.getClass());
+
+            handles.bePatternConfiguration().invokeExact(config, (List<?>) psiClasses, (Object) null);
+            final var vmArgs = group.getVmArgs();
+            if (vmArgs != null && !vmArgs.trim().isEmpty()) {
+                handles.setVmParameters().invokeExact(config, vmArgs);
+            }
+            settings.setName(configName);
+            log.logDebug("Configuration built: {} ({} classes)", configName, psiClasses.size());
+            return settings;
+        } catch (Throwable e) {
+            log.logError("Failed to create configuration for group: " + group.getName(), e);
+            return null;
+        }
+    }
+}
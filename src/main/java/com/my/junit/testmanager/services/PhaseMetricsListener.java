@@ -0,0 +1,23 @@
+package com.my.junit.testmanager.services;
+
+import com.intellij.util.messages.Topic;
+import com.my.junit.testmanager.utils.PhaseMetrics;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Слушатель завершенных замеров фаз.
+ * Публикуется на шине сообщений проекта сервисом {@link PhaseMetricsService}.
+ */
+public interface PhaseMetricsListener {
+    Topic<PhaseMetricsListener> TOPIC = Topic.create(
+            "JUnit Test Manager phase metrics",
+            PhaseMetricsListener.class
+    );
+
+    /**
+     * Вызывается после завершения операции.
+     *
+     * @param metrics замеры операции
+     */
+    void metricsRecorded(@NotNull PhaseMetrics metrics);
+}
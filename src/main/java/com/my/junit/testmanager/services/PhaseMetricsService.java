@@ -0,0 +1,127 @@
+package com.my.junit.testmanager.services;
+
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import com.my.junit.testmanager.utils.LoggerUtils;
+import com.my.junit.testmanager.utils.PhaseMetrics;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Хранит замеры фаз последних операций поиска, релокации и генерации для вкладки диагностики.
+ */
+@Service(Service.Level.PROJECT)
+public final class PhaseMetricsService {
+    private static final int MAX_RECORDS = 20;
+
+    private final LoggerUtils log = LoggerUtils.getLogger(PhaseMetricsService.class);
+
+    private final Project project;
+    private final ConcurrentLinkedDeque<PhaseMetrics> records = new ConcurrentLinkedDeque<>();
+
+    public PhaseMetricsService(@NotNull Project project) {
+        this.project = project;
+    }
+
+    @NotNull
+    public static PhaseMetricsService getInstance(@NotNull Project project) {
+        return project.getService(PhaseMetricsService.class);
+    }
+
+    /**
+     * Завершает замер операции, сохраняет его и уведомляет подписчиков.
+     *
+     * @param metrics замеры операции
+     */
+    public void record(@NotNull PhaseMetrics metrics) {
+        metrics.finish();
+        records.addFirst(metrics);
+        while (records.size() > MAX_RECORDS) {
+            records.pollLast();
+        }
+        log.logInfo(() -> "Metrics of " + metrics.getOperation() + ": elapsed=" + metrics.getElapsedMillis()
+                + " ms, phases=" + metrics.getPhaseMillis() + ", counters=" + metrics.getCounters());
+        if (!project.isDisposed()) {
+            project.getMessageBus().syncPublisher(PhaseMetricsListener.TOPIC).metricsRecorded(metrics);
+        }
+    }
+
+    /**
+     * Возвращает сохраненные замеры, начиная с последнего.
+     *
+     * @return замеры операций
+     */
+    @NotNull
+    public List<PhaseMetrics> getRecords() {
+        return new ArrayList<>(records);
+    }
+
+    public void clear() {
+        records.clear();
+    }
+
+    /**
+     * Сериализует сохраненные замеры в JSON.
+     *
+     * @return JSON-массив замеров, начиная с последнего
+     */
+    @NotNull
+    public String toJson() {
+        final var json = new StringBuilder("[");
+        var first = true;
+        for (var metrics : records) {
+            json.append(first ? "\n" : ",\n");
+            first = false;
+            json.append("  {\"operation\": ").append(quote(metrics.getOperation()))
+                    .append(", \"startedAt\": ").append(quote(Instant.ofEpochMilli(metrics.getStartedAtMillis()).toString()))
+                    .append(", \"elapsedMs\": ").append(metrics.getElapsedMillis())
+                    .append(", \"phasesMs\": ");
+            appendObject(json, metrics.getPhaseMillis());
+            json.append(", \"counters\": ");
+            appendObject(json, metrics.getCounters());
+            json.append('}');
+        }
+        return json.append(first ? "]" : "\n]").toString();
+    }
+
+    private static void appendObject(@NotNull StringBuilder json, @NotNull Map<String, Long> values) {
+        json.append('{');
+        var first = true;
+        for (var entry : values.entrySet()) {
+            if (!first) {
+                json.append(", ");
+            }
+            first = false;
+            json.append(quote(entry.getKey())).append(": ").append(entry.getValue());
+        }
+        json.append('}');
+    }
+
+    @NotNull
+    private static String quote(@NotNull String value) {
+        final var quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final var c = value.charAt(i);
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -1,23 +1,48 @@
 package com.my.junit.testmanager.services;
 
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScopesCore;
+import com.intellij.psi.search.PsiShortNamesCache;
+import com.my.junit.testmanager.config.TestManagerConfig;
 import com.my.junit.testmanager.data.SearchType;
 import com.my.junit.testmanager.data.TestClassRelocationData;
 import com.my.junit.testmanager.utils.LoggerUtils;
+import com.my.junit.testmanager.utils.ParallelModuleUtils;
+import com.my.junit.testmanager.utils.PhaseMetrics;
 import com.my.junit.testmanager.utils.PsiUtils;
+import com.my.junit.testmanager.utils.TestFileReferences;
+import com.my.junit.testmanager.utils.TestNamingMatcher;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.jps.model.java.JavaSourceRootType;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static com.my.junit.testmanager.utils.MessagesBundle.message;
 
 /**
  * Сервис для анализа релокации тестовых классов.
  */
 public class RelocationAnalyzer {
+    private static final String RELOCATION_OPERATION = "Relocation analysis";
+    /**
+     * Количество классов, начиная с которого тестовые классы собираются в карту одним проходом.
+     */
+    private static final int BULK_JOIN_THRESHOLD = 32;
+
     private final LoggerUtils log = LoggerUtils.getLogger(RelocationAnalyzer.class);
 
     /**
@@ -25,112 +50,311 @@ public class RelocationAnalyzer {
      */
     private final Project project;
 
+    /**
+     * Замеры фаз текущего анализа; создаются заново при каждом вызове analyze.
+     */
+    private volatile PhaseMetrics metrics = new PhaseMetrics(RELOCATION_OPERATION);
+
+    /**
+     * Соглашения об именовании тестов, по которым для класса исходников вычисляются имена его тестов.
+     */
+    private final TestNamingMatcher namingMatcher;
+
+    /**
+     * Тестовый класс вместе со снимком ссылок его файла.
+     *
+     * @param testClass  тестовый класс
+     * @param references классы, видимые в файле тестового класса
+     */
+    private record TestCandidate(@NotNull PsiClass testClass, @NotNull TestFileReferences references) {}
+
     public RelocationAnalyzer(
             @NotNull Project project
     ) {
         this.project = project;
+        this.namingMatcher = TestNamingMatcher.compile(TestManagerConfig.getInstance());
     }
 
     /**
      * Анализирует тестовые классы для релокации в зависимости от типа поиска.
+     * Должен вызываться из фонового потока без read lock: чтение PSI выполняется в non-blocking
+     * read action, которые перезапускаются при write action и прерываются отменой индикатора.
      *
      * @param searchType тип поиска (все классы или только измененные)
+     * @param indicator  индикатор прогресса
      * @return список данных о релокации тестовых классов
      */
+    @NotNull
     public List<TestClassRelocationData> analyze(
-            @NotNull SearchType searchType
+            @NotNull SearchType searchType,
+            @NotNull ProgressIndicator indicator
     ) {
-        return switch (searchType) {
-            case ALL -> getAllClasses();
-            case CHANGES -> getChangedClasses();
-            default -> {
-                log.logWarn("Unknown search type: " + searchType);
-                yield new ArrayList<>();
-            }
-        };
+        metrics = new PhaseMetrics(RELOCATION_OPERATION + ": " + searchType);
+        try {
+            final List<TestClassRelocationData> relocations = switch (searchType) {
+                case ALL -> getAllClasses(indicator);
+                case CHANGES -> inReadAction(this::getChangedClasses, indicator);
+                default -> {
+                    log.logWarn("Unknown search type: " + searchType);
+                    yield new ArrayList<>();
+                }
+            };
+            metrics.add(PhaseMetrics.Counter.RESULTS, relocations.size());
+            return relocations;
+        } finally {
+            PhaseMetricsService.getInstance(project).record(metrics);
+        }
     }
 
     /**
-     * Получает все классы в проекте и анализирует их для релокации тестовых классов.
+     * Выполняет чтение PSI в non-blocking read action в текущем потоке.
      *
+     * @param action    чтение PSI
+     * @param indicator индикатор прогресса
+     * @param <T>       тип результата
+     * @return результат чтения
+     */
+    private <T> T inReadAction(
+            @NotNull Callable<T> action,
+            @NotNull ProgressIndicator indicator
+    ) {
+        return ReadAction
+                .nonBlocking(action)
+                .expireWith(project)
+                .wrapProgress(indicator)
+                .executeSynchronously();
+    }
+
+    /**
+     * Анализирует все классы исходников проекта. Тестовые классы один раз собираются в карту
+     * по простому имени, затем модули обрабатываются параллельно, каждый в своем read action.
+     *
+     * @param indicator индикатор прогресса
      * @return список данных о релокации тестовых классов
      */
     @NotNull
-    private List<TestClassRelocationData> getAllClasses() {
-        log.logInfo("Analyzing all classes for test relocation...");
-        final var psiClasses = PsiUtils.getAllPsiClassesFromAllModules(
+    private List<TestClassRelocationData> getAllClasses(@NotNull ProgressIndicator indicator) {
+        final var parallelism = TestManagerConfig.getInstance().getDiscoveryParallelism();
+        log.logInfo("Analyzing all classes for test relocation, parallelism=" + parallelism + "...");
+        indicator.setText(message("progress.text.relocation.collect.tests"));
+        final var testClassesByName = inReadAction(this::collectTestClassesByName, indicator);
+        indicator.setText(message("progress.text.relocation.analyze.modules"));
+        return ParallelModuleUtils.processModules(
                 project,
-                JavaSourceRootType.SOURCE
+                indicator,
+                parallelism,
+                module -> analyzeModule(module, testClassesByName)
         );
-        return psiClasses.stream()
-                .map(this::createTestClassRelocationItem)
-                .filter(Objects::nonNull)
-                .toList();
+    }
+
+    /**
+     * Анализирует классы исходников одного модуля. Вызывается внутри read action потока пула.
+     *
+     * @param module            модуль проекта
+     * @param testClassesByName тестовые классы по простому имени
+     * @return список данных о релокации тестовых классов модуля
+     */
+    @NotNull
+    private List<TestClassRelocationData> analyzeModule(
+            @NotNull Module module,
+            @NotNull Map<String, List<TestCandidate>> testClassesByName
+    ) {
+        final List<PsiClass> psiClasses;
+        try (var ignored = metrics.phase(PhaseMetrics.PHASE_PSI_LOAD)) {
+            psiClasses = PsiUtils.getAllPsiClassesFromModule(project, module, JavaSourceRootType.SOURCE);
+        }
+        metrics.add(PhaseMetrics.Counter.PSI_LOADS, psiClasses.size());
+        return analyzeClasses(psiClasses, testClassesByName);
     }
 
     /**
      * Получает измененные классы в проекте и анализирует их для релокации тестовых классов.
+     * Вызывается внутри read action. Для большого количества классов тестовые классы собираются
+     * одним проходом по тестовым корням, иначе — одним пакетным запросом к индексу по всем
+     * именам-кандидатам.
      *
      * @return список данных о релокации тестовых классов
      */
     @NotNull
     private List<TestClassRelocationData> getChangedClasses() {
         log.logInfo("Analyzing changed classes for test relocation...");
-        final var psiClasses = PsiUtils.getChangedPsiClassesFromAllModules(
-                project,
-                JavaSourceRootType.SOURCE
-        );
-        return psiClasses.stream()
-                .map(this::createTestClassRelocationItem)
-                .filter(Objects::nonNull)
-                .toList();
+        final List<PsiClass> psiClasses;
+        try (var ignored = metrics.phase(PhaseMetrics.PHASE_PSI_LOAD)) {
+            psiClasses = PsiUtils.getChangedPsiClassesFromAllModules(
+                    project,
+                    JavaSourceRootType.SOURCE
+            );
+        }
+        metrics.add(PhaseMetrics.Counter.PSI_LOADS, psiClasses.size());
+        final var testClassesByName = psiClasses.size() >= BULK_JOIN_THRESHOLD
+                ? collectTestClassesByName()
+                : lookupTestClassesByName(psiClasses);
+        return analyzeClasses(psiClasses, testClassesByName);
     }
 
     /**
-     * Создает элемент данных о релокации тестового класса для заданного класса.
+     * Анализирует классы исходников, сопоставляя их с тестовыми классами из карты.
      *
-     * @param psiClass класс для анализа
-     * @return элемент данных о релокации тестового класса или null, если релокация не требуется
+     * @param psiClasses        классы исходников
+     * @param testClassesByName тестовые классы по простому имени
+     * @return список данных о релокации тестовых классов
      */
-    @Nullable
-    private TestClassRelocationData createTestClassRelocationItem(@NotNull PsiClass psiClass) {
-        final var className = psiClass.getName();
-        if (className == null) {
-            log.logInfo("Class name is null, skipping.");
-            return null;
+    @NotNull
+    private List<TestClassRelocationData> analyzeClasses(
+            @NotNull List<PsiClass> psiClasses,
+            @NotNull Map<String, List<TestCandidate>> testClassesByName
+    ) {
+        final var relocations = new ArrayList<TestClassRelocationData>();
+        for (var psiClass : psiClasses) {
+            ProgressManager.checkCanceled();
+            relocations.addAll(createTestClassRelocationItems(psiClass, testClassesByName));
         }
+        return relocations;
+    }
 
-        final var expectedTestName = className + "Test";
-        final var testClasses = findTestClassesForRelocation(expectedTestName);
+    /**
+     * Собирает классы тестовых корней всех модулей, имена которых подходят под соглашения
+     * об именовании, сгруппированные по простому имени.
+     *
+     * @return простое имя → тестовые классы
+     */
+    @NotNull
+    private Map<String, List<TestCandidate>> collectTestClassesByName() {
+        try (var ignored = metrics.phase(PhaseMetrics.PHASE_INDEX_LOOKUP)) {
+            final var testClasses = PsiUtils.getAllPsiClassesFromAllModules(project, JavaSourceRootType.TEST_SOURCE);
+            metrics.add(PhaseMetrics.Counter.PSI_LOADS, testClasses.size());
+            final var byName = new HashMap<String, List<TestCandidate>>();
+            final var referencesByFile = new HashMap<PsiFile, TestFileReferences>();
+            for (var testClass : testClasses) {
+                final var name = testClass.getName();
+                if (name != null && namingMatcher.isCandidateName(name)) {
+                    byName.computeIfAbsent(name, key -> new ArrayList<>(1))
+                            .add(createTestCandidate(testClass, referencesByFile));
+                }
+            }
+            log.logInfo("Bulk relocation lookup: " + testClasses.size() + " test classes, "
+                    + byName.size() + " distinct names");
+            return Collections.unmodifiableMap(byName);
+        }
+    }
 
-        return findMismatchedTestClass(testClasses, psiClass, expectedTestName);
+    /**
+     * Находит тестовые классы для всех имен-кандидатов переданных классов одним проходом по именам
+     * классов тестовой области проекта: классы запрашиваются только для имен, которые в ней есть,
+     * а не для каждого кандидата во всем проекте с последующей проверкой тестового корня.
+     *
+     * @param psiClasses классы исходников
+     * @return простое имя → тестовые классы
+     */
+    @NotNull
+    private Map<String, List<TestCandidate>> lookupTestClassesByName(@NotNull List<PsiClass> psiClasses) {
+        try (var ignored = metrics.phase(PhaseMetrics.PHASE_INDEX_LOOKUP)) {
+            final var candidateNames = new HashSet<String>();
+            for (var psiClass : psiClasses) {
+                final var className = psiClass.getName();
+                if (className != null) {
+                    candidateNames.addAll(namingMatcher.candidateNames(className));
+                }
+            }
+            final var testScope = GlobalSearchScopesCore.projectTestScope(project);
+            final var shortNamesCache = PsiShortNamesCache.getInstance(project);
+            final var foundNames = new HashSet<String>();
+            shortNamesCache.processAllClassNames(name -> {
+                if (candidateNames.contains(name)) {
+                    foundNames.add(name);
+                }
+                return true;
+            }, testScope, null);
+
+            final var byName = new HashMap<String, List<TestCandidate>>();
+            final var referencesByFile = new HashMap<PsiFile, TestFileReferences>();
+            for (var name : foundNames) {
+                final var testCandidates = Arrays.stream(shortNamesCache.getClassesByName(name, testScope))
+                        .map(testClass -> createTestCandidate(testClass, referencesByFile))
+                        .toList();
+                if (!testCandidates.isEmpty()) {
+                    byName.put(name, testCandidates);
+                }
+            }
+            log.logInfo("Relocation lookup: " + candidateNames.size() + " candidate names, "
+                    + byName.size() + " found in test scope");
+            return byName;
+        }
+    }
+
+    /**
+     * Создает кандидата в тесты; ссылки файла собираются один раз на файл за анализ.
+     *
+     * @param testClass        тестовый класс
+     * @param referencesByFile уже собранные ссылки файлов
+     * @return тестовый класс со ссылками его файла
+     */
+    @NotNull
+    private TestCandidate createTestCandidate(
+            @NotNull PsiClass testClass,
+            @NotNull Map<PsiFile, TestFileReferences> referencesByFile
+    ) {
+        final var references = referencesByFile.computeIfAbsent(
+                testClass.getContainingFile(),
+                TestFileReferences::of
+        );
+        return new TestCandidate(testClass, references);
     }
 
     /**
-     * Находит тестовые классы с заданным именем в тестовых исходниках.
+     * Создает элементы данных о релокации тестов заданного класса: по одному на каждое
+     * соглашение об именовании, тест которого лежит в другом пакете.
      *
-     * @param testName имя тестового класса
-     * @return список тестовых классов
+     * @param psiClass          класс для анализа
+     * @param testClassesByName тестовые классы по простому имени
+     * @return элементы данных о релокации (пустой список, если релокация не требуется)
      */
     @NotNull
-    private List<PsiClass> findTestClassesForRelocation(@NotNull String testName) {
-        return PsiUtils.findClassesByName(project, testName)
-                .stream()
-                .filter(testClass -> PsiUtils.isInTestSourceRoot(testClass, project))
-                .toList();
+    private List<TestClassRelocationData> createTestClassRelocationItems(
+            @NotNull PsiClass psiClass,
+            @NotNull Map<String, List<TestCandidate>> testClassesByName
+    ) {
+        metrics.increment(PhaseMetrics.Counter.CLASSES_INSPECTED);
+        final var className = psiClass.getName();
+        if (className == null) {
+            log.logDebug(() -> "Class name is null, skipping.");
+            return List.of();
+        }
+
+        final var relocations = new ArrayList<TestClassRelocationData>(1);
+        for (var expectedTestName : namingMatcher.candidateNames(className)) {
+            final var testCandidates = testClassesByName.get(expectedTestName);
+            if (testCandidates == null) {
+                continue;
+            }
+            try (var ignored = metrics.phase(PhaseMetrics.PHASE_RELOCATION_MATCHING)) {
+                // Карта могла быть собрана в предыдущем read action: классы могли стать невалидными
+                final var relocation = findMismatchedTestClass(
+                        testCandidates.stream()
+                                .filter(candidate -> candidate.testClass().isValid())
+                                .toList(),
+                        psiClass,
+                        expectedTestName
+                );
+                if (relocation != null) {
+                    relocations.add(relocation);
+                }
+            }
+        }
+        return relocations;
     }
 
     /**
      * Находит тестовый класс с несоответствующим пакетом для релокации.
      *
-     * @param testClasses список тестовых классов для проверки
+     * @param testCandidates тестовые классы для проверки вместе со ссылками их файлов
      * @param sourceClass исходный класс
      * @param expectedTestName ожидаемое имя тестового класса
      * @return данные о релокации или null, если несоответствия не найдены
      */
     @Nullable
     private TestClassRelocationData findMismatchedTestClass(
-            @NotNull List<PsiClass> testClasses,
+            @NotNull List<TestCandidate> testCandidates,
             @NotNull PsiClass sourceClass,
             @NotNull String expectedTestName
     ) {
@@ -139,20 +363,22 @@ public class RelocationAnalyzer {
             return null;
         }
 
-        for (var testClass : testClasses) {
-            if (!PsiUtils.hasImportOnClass(testClass, sourceClass)) {
+        for (var testCandidate : testCandidates) {
+            if (!testCandidate.references().references(classFqcn)) {
                 continue;
             }
 
+            final var testClass = testCandidate.testClass();
             final var testFqcn = testClass.getQualifiedName();
             if (testFqcn == null) {
                 continue;
             }
 
-            log.logInfo("Found test class: " + testFqcn + " for class: " + classFqcn);
+            log.logDebug("Found test class: {} for class: {}", testFqcn, classFqcn);
 
             if (!isPackageMatching(classFqcn, testFqcn)) {
-                log.logInfo("Found test class with mismatched package: " + testFqcn + " for class: " + classFqcn);
+                log.logInfoRateLimited(() -> "Found test class with mismatched package: " + testFqcn
+                        + " for class: " + classFqcn);
                 return createRelocationData(testFqcn, classFqcn, expectedTestName, testClass);
             }
         }
@@ -194,7 +420,7 @@ public class RelocationAnalyzer {
     private boolean isPackageMatching(@NotNull String classFqcn, @NotNull String testFqcn) {
         final var classPackage = PsiUtils.extractPackageFromFqcn(classFqcn);
         final var testPackage = PsiUtils.extractPackageFromFqcn(testFqcn);
-        log.logInfo("Comparing packages - Class: " + classPackage + ", Test: " + testPackage);
+        log.logDebug("Comparing packages - Class: {}, Test: {}", classPackage, testPackage);
         return classPackage.equals(testPackage);
     }
 
@@ -208,7 +434,7 @@ public class RelocationAnalyzer {
      */
     @NotNull
     private String calculateNewTestFqcnForMismatch(@NotNull String classFqcn, @NotNull String testName) {
-        log.logInfo("Calculating new FQCN for test: " + testName + " based on class FQCN: " + classFqcn);
+        log.logDebug("Calculating new FQCN for test: {} based on class FQCN: {}", testName, classFqcn);
         final var classPackage = PsiUtils.extractPackageFromFqcn(classFqcn);
         return classPackage.isEmpty() ? testName : classPackage + "." + testName;
     }
@@ -0,0 +1,390 @@
+package com.my.junit.testmanager.services;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiPackage;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.my.junit.testmanager.data.TestClassRelocationData;
+import com.my.junit.testmanager.utils.LoggerUtils;
+import com.my.junit.testmanager.utils.PsiUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.my.junit.testmanager.utils.MessagesBundle.message;
+
+/**
+ * Сервис пакетной релокации тестовых классов.
+ * Если тестовый пакет целиком повторяет переименованный или перемещенный пакет исходников,
+ * он переносится одним рефакторингом пакета. Остальные выбранные классы группируются по целевому
+ * пакету, и для каждого пакета выполняется один рефакторинг перемещения классов: один поиск
+ * использований, одна write action и один шаг отмены вместо отдельного рефакторинга на каждый класс.
+ */
+public class RelocationExecutor {
+    /**
+     * Максимальное количество строк каждого раздела сводки перед перемещением.
+     */
+    private static final int SUMMARY_MAX_LINES = 20;
+
+    private final LoggerUtils log = LoggerUtils.getLogger(RelocationExecutor.class);
+
+    private final Project project;
+
+    /**
+     * Перемещения тестовых пакетов целиком, в порядке имен исходных пакетов.
+     */
+    private final List<PackageMove> packageMoves;
+
+    /**
+     * Целевой пакет → тестовые классы для перемещения в него (пакеты отсортированы по имени).
+     */
+    private final Map<String, List<TestClassRelocationData>> itemsByPackage;
+
+    /**
+     * Перемещение тестового пакета целиком вместе с подпакетами.
+     *
+     * @param oldPackage полное имя пакета до перемещения
+     * @param psiPackage исходный тестовый пакет
+     * @param newPackage полное имя пакета после перемещения
+     * @param items      тестовые классы, которые переносятся вместе с пакетом
+     */
+    private record PackageMove(
+            @NotNull String oldPackage,
+            @NotNull PsiPackage psiPackage,
+            @NotNull String newPackage,
+            @NotNull List<TestClassRelocationData> items
+    ) {}
+
+    /**
+     * Создает план релокации. Вызывается внутри read action в фоновом потоке: поиск пакетов
+     * и их каталогов на больших проектах слишком долог для EDT.
+     *
+     * @param project проект IntelliJ IDEA
+     * @param items   выбранные тестовые классы
+     */
+    public RelocationExecutor(
+            @NotNull Project project,
+            @NotNull List<TestClassRelocationData> items
+    ) {
+        this.project = project;
+        this.packageMoves = detectPackageMoves(items);
+
+        final var movedWithPackage = Collections.newSetFromMap(new IdentityHashMap<TestClassRelocationData, Boolean>());
+        packageMoves.forEach(packageMove -> movedWithPackage.addAll(packageMove.items()));
+        final var grouped = new TreeMap<String, List<TestClassRelocationData>>();
+        for (var item : items) {
+            if (!movedWithPackage.contains(item)) {
+                grouped.computeIfAbsent(getNewPackage(item), key -> new ArrayList<>()).add(item);
+            }
+        }
+        this.itemsByPackage = Collections.unmodifiableMap(grouped);
+    }
+
+    /**
+     * Находит тестовые пакеты, которые можно перенести целиком: все классы пакета и его подпакетов
+     * выбраны и переносятся с тем же сдвигом имени пакета, пакет лежит только в тестовых корнях,
+     * а целевого пакета в тестовых корнях еще нет. Поддерживаются переименование последнего
+     * сегмента и перенос в другой родительский пакет с тем же именем.
+     *
+     * @param items выбранные тестовые классы
+     * @return перемещения пакетов
+     */
+    @NotNull
+    private List<PackageMove> detectPackageMoves(@NotNull List<TestClassRelocationData> items) {
+        final var itemsByClass = new IdentityHashMap<PsiClass, TestClassRelocationData>();
+        final var newPackagesByOld = new TreeMap<String, String>();
+        final var inconsistentPackages = new HashSet<String>();
+        for (var item : items) {
+            final var psiClass = item.getPsiClass();
+            if (psiClass != null) {
+                itemsByClass.put(psiClass, item);
+            }
+            final var newPackage = getNewPackage(item);
+            final var previous = newPackagesByOld.putIfAbsent(item.getOldPath(), newPackage);
+            if (previous != null && !previous.equals(newPackage)) {
+                inconsistentPackages.add(item.getOldPath());
+            }
+        }
+
+        final var packageMoves = new ArrayList<PackageMove>();
+        for (var entry : newPackagesByOld.entrySet()) {
+            final var oldPackage = entry.getKey();
+            final var newPackage = entry.getValue();
+            if (inconsistentPackages.contains(oldPackage) || isInsideMovedPackage(oldPackage, packageMoves)) {
+                continue;
+            }
+            final var packageMove = createPackageMove(oldPackage, newPackage, itemsByClass);
+            if (packageMove != null) {
+                log.logInfo("Package relocation: " + oldPackage + " -> " + newPackage
+                        + " (" + packageMove.items().size() + " tests)");
+                packageMoves.add(packageMove);
+            }
+        }
+        return Collections.unmodifiableList(packageMoves);
+    }
+
+    /**
+     * Проверяет, что пакет можно перенести целиком, и собирает переносимые вместе с ним классы.
+     *
+     * @param oldPackage   исходный тестовый пакет
+     * @param newPackage   целевой пакет
+     * @param itemsByClass выбранные элементы по тестовому классу
+     * @return перемещение пакета или null, если пакет нужно переносить по классам
+     */
+    @Nullable
+    private PackageMove createPackageMove(
+            @NotNull String oldPackage,
+            @NotNull String newPackage,
+            @NotNull Map<PsiClass, TestClassRelocationData> itemsByClass
+    ) {
+        if (oldPackage.isEmpty() || newPackage.isEmpty() || !isSingleStepMove(oldPackage, newPackage)) {
+            return null;
+        }
+        final var facade = JavaPsiFacade.getInstance(project);
+        final var psiPackage = facade.findPackage(oldPackage);
+        if (psiPackage == null) {
+            return null;
+        }
+        final var scope = GlobalSearchScope.projectScope(project);
+        final var fileIndex = ProjectFileIndex.getInstance(project);
+        final var targetPackage = facade.findPackage(newPackage);
+        if (targetPackage != null && hasTestDirectory(targetPackage, scope, fileIndex)) {
+            return null;
+        }
+
+        final var items = new ArrayList<TestClassRelocationData>();
+        final var mirrored = collectMirroredItems(
+                psiPackage, oldPackage, newPackage, itemsByClass, scope, fileIndex, items
+        );
+        return mirrored && !items.isEmpty()
+                ? new PackageMove(oldPackage, psiPackage, newPackage, items)
+                : null;
+    }
+
+    /**
+     * Рекурсивно проверяет пакет и его подпакеты: каталоги только в тестовых корнях, каждый класс
+     * выбран и переносится в пакет с тем же относительным путем.
+     *
+     * @param psiPackage   проверяемый пакет
+     * @param oldRoot      исходный корневой пакет перемещения
+     * @param newRoot      целевой корневой пакет перемещения
+     * @param itemsByClass выбранные элементы по тестовому классу
+     * @param scope        область поиска каталогов и классов
+     * @param fileIndex    индекс файлов проекта
+     * @param items        найденные элементы, переносимые вместе с пакетом
+     * @return true, если дерево пакета повторяет целевой пакет
+     */
+    private boolean collectMirroredItems(
+            @NotNull PsiPackage psiPackage,
+            @NotNull String oldRoot,
+            @NotNull String newRoot,
+            @NotNull Map<PsiClass, TestClassRelocationData> itemsByClass,
+            @NotNull GlobalSearchScope scope,
+            @NotNull ProjectFileIndex fileIndex,
+            @NotNull List<TestClassRelocationData> items
+    ) {
+        for (var directory : psiPackage.getDirectories(scope)) {
+            if (!fileIndex.isInTestSourceContent(directory.getVirtualFile())) {
+                return false;
+            }
+        }
+        final var expectedPackage = newRoot + psiPackage.getQualifiedName().substring(oldRoot.length());
+        for (var psiClass : psiPackage.getClasses(scope)) {
+            final var item = itemsByClass.get(psiClass);
+            if (item == null || !expectedPackage.equals(getNewPackage(item))) {
+                return false;
+            }
+            items.add(item);
+        }
+        for (var subPackage : psiPackage.getSubPackages(scope)) {
+            if (!collectMirroredItems(subPackage, oldRoot, newRoot, itemsByClass, scope, fileIndex, items)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasTestDirectory(
+            @NotNull PsiPackage psiPackage,
+            @NotNull GlobalSearchScope scope,
+            @NotNull ProjectFileIndex fileIndex
+    ) {
+        for (var directory : psiPackage.getDirectories(scope)) {
+            if (fileIndex.isInTestSourceContent(directory.getVirtualFile())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Проверяет, что смена пакета выражается одним рефакторингом: переименованием последнего сегмента
+     * или переносом в другой родительский пакет с сохранением имени.
+     */
+    static boolean isSingleStepMove(@NotNull String oldPackage, @NotNull String newPackage) {
+        final var oldParent = PsiUtils.extractPackageFromFqcn(oldPackage);
+        final var newParent = PsiUtils.extractPackageFromFqcn(newPackage);
+        final var sameName = getSimpleName(oldPackage).equals(getSimpleName(newPackage));
+        if (oldParent.equals(newParent)) {
+            return !sameName;
+        }
+        // Перенос в пакет по умолчанию рефакторингом пакета не выполняется
+        return sameName && !newParent.isEmpty();
+    }
+
+    private static boolean isInsideMovedPackage(@NotNull String packageName, @NotNull List<PackageMove> packageMoves) {
+        return packageMoves.stream()
+                .anyMatch(packageMove -> packageName.startsWith(packageMove.oldPackage() + "."));
+    }
+
+    @NotNull
+    private static String getSimpleName(@NotNull String packageName) {
+        return packageName.substring(packageName.lastIndexOf('.') + 1);
+    }
+
+    @NotNull
+    private static String getNewPackage(@NotNull TestClassRelocationData item) {
+        return PsiUtils.extractPackageFromFqcn(item.getNewPath());
+    }
+
+    public int getClassCount() {
+        return packageMoves.stream().mapToInt(packageMove -> packageMove.items().size()).sum()
+                + itemsByPackage.values().stream().mapToInt(List::size).sum();
+    }
+
+    public int getPackageCount() {
+        return packageMoves.size() + itemsByPackage.size();
+    }
+
+    /**
+     * Формирует сводку пробного запуска: какие пакеты переносятся целиком и сколько классов
+     * в какие пакеты будет перемещено.
+     *
+     * @return текст сводки для подтверждения пользователем
+     */
+    @NotNull
+    public String buildSummary() {
+        final var summary = new StringBuilder(message("dialog.relocation.summary", getClassCount(), getPackageCount()))
+                .append("\n\n");
+        if (!packageMoves.isEmpty()) {
+            final var packageLines = new LinkedHashMap<String, Integer>();
+            packageMoves.forEach(packageMove -> packageLines.put(
+                    packageMove.oldPackage() + " → " + packageMove.newPackage(),
+                    packageMove.items().size()
+            ));
+            summary.append(message("dialog.relocation.summary.package.moves")).append('\n');
+            appendSummaryLines(summary, packageLines);
+        }
+        if (!itemsByPackage.isEmpty()) {
+            final var classLines = new LinkedHashMap<String, Integer>();
+            itemsByPackage.forEach((targetPackage, items) -> classLines.put(
+                    targetPackage.isEmpty() ? message("dialog.relocation.summary.default.package") : targetPackage,
+                    items.size()
+            ));
+            summary.append(message("dialog.relocation.summary.class.moves")).append('\n');
+            appendSummaryLines(summary, classLines);
+        }
+        return summary.append(message("dialog.relocation.summary.confirm")).toString();
+    }
+
+    private static void appendSummaryLines(@NotNull StringBuilder summary, @NotNull Map<String, Integer> lines) {
+        lines.entrySet()
+                .stream()
+                .limit(SUMMARY_MAX_LINES)
+                .forEach(line -> summary.append("  ")
+                        .append(line.getKey())
+                        .append(" (")
+                        .append(line.getValue())
+                        .append(")\n"));
+        if (lines.size() > SUMMARY_MAX_LINES) {
+            summary.append("  ")
+                    .append(message("dialog.relocation.summary.more", lines.size() - SUMMARY_MAX_LINES))
+                    .append('\n');
+        }
+        summary.append('\n');
+    }
+
+    /**
+     * Перемещает тесты: сначала пакеты целиком, затем классы по одному рефакторингу на целевой пакет.
+     * Вызывается из фонового потока: рефакторинги запускаются в EDT, между ними проверяется
+     * отмена индикатора.
+     *
+     * @param indicator индикатор прогресса
+     * @return количество перемещенных классов
+     */
+    public int relocate(@NotNull ProgressIndicator indicator) {
+        indicator.setIndeterminate(false);
+        final var moved = new AtomicInteger();
+        final var totalSteps = getPackageCount();
+        var processedSteps = 0;
+        for (var packageMove : packageMoves) {
+            indicator.checkCanceled();
+            indicator.setText2(packageMove.newPackage());
+            indicator.setFraction((double) processedSteps++ / totalSteps);
+            ApplicationManager.getApplication().invokeAndWait(() -> {
+                if (relocatePackage(packageMove)) {
+                    moved.addAndGet(packageMove.items().size());
+                }
+            }, ModalityState.nonModal());
+        }
+        for (var entry : itemsByPackage.entrySet()) {
+            indicator.checkCanceled();
+            final var targetPackage = entry.getKey();
+            indicator.setText2(targetPackage);
+            indicator.setFraction((double) processedSteps++ / totalSteps);
+            ApplicationManager.getApplication().invokeAndWait(() -> {
+                final var elements = entry.getValue()
+                        .stream()
+                        .map(TestClassRelocationData::getPsiClass)
+                        .filter(Objects::nonNull)
+                        .toArray(PsiElement[]::new);
+                if (elements.length == 0) {
+                    log.logWarn("No valid classes left to move to package: " + targetPackage);
+                    return;
+                }
+                if (PsiUtils.movePsiClasses(project, elements, targetPackage)) {
+                    moved.addAndGet(elements.length);
+                }
+            }, ModalityState.nonModal());
+        }
+        indicator.setFraction(1.0);
+        log.logInfo("Relocation complete: moved " + moved.get() + " of " + getClassCount()
+                + " tests, package moves=" + packageMoves.size() + ", class moves=" + itemsByPackage.size());
+        return moved.get();
+    }
+
+    /**
+     * Переносит пакет целиком: переименованием последнего сегмента или переносом в новый родительский пакет.
+     *
+     * @param packageMove перемещение пакета
+     * @return true, если рефакторинг выполнен
+     */
+    private boolean relocatePackage(@NotNull PackageMove packageMove) {
+        final var psiPackage = packageMove.psiPackage();
+        if (!psiPackage.isValid()) {
+            log.logWarn("Package is no longer valid: " + packageMove.newPackage());
+            return false;
+        }
+        final var oldParent = PsiUtils.extractPackageFromFqcn(packageMove.oldPackage());
+        final var newParent = PsiUtils.extractPackageFromFqcn(packageMove.newPackage());
+        return oldParent.equals(newParent)
+                ? PsiUtils.renamePsiPackage(project, psiPackage, getSimpleName(packageMove.newPackage()))
+                : PsiUtils.movePsiPackage(project, psiPackage, newParent);
+    }
+}
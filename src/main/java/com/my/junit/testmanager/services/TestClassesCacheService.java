@@ -0,0 +1,446 @@
+package com.my.junit.testmanager.services;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ModuleRootListener;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiTreeChangeAdapter;
+import com.intellij.psi.PsiTreeChangeEvent;
+import com.intellij.psi.search.GlobalSearchScopesCore;
+import com.my.junit.testmanager.config.TestManagerConfig;
+import com.my.junit.testmanager.config.TestManagerSettingsListener;
+import com.my.junit.testmanager.config.data.GroupData;
+import com.my.junit.testmanager.data.TestClassInfoData;
+import com.my.junit.testmanager.utils.GroupMatcher;
+import com.my.junit.testmanager.utils.LoggerUtils;
+import com.my.junit.testmanager.utils.PsiUtils;
+import com.my.junit.testmanager.utils.VfsEventUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Кэш найденных тестовых классов проекта.
+ * Хранит тестовые классы по файлам тестовых исходников и обновляется инкрементально:
+ * события PSI и VFS только помечают затронутые файлы, которые перепроверяются при следующем запросе.
+ * Записи содержат только файл и FQCN класса без ссылок на PSI.
+ */
+@Service(Service.Level.PROJECT)
+public final class TestClassesCacheService implements Disposable {
+    private final LoggerUtils log = LoggerUtils.getLogger(TestClassesCacheService.class);
+    private static final String DEFAULT_GROUP = "";
+
+    private final Project project;
+    private final TestClassesCacheStorage storage;
+    /**
+     * Файл → записи о его тестовых классах (имя, FQCN, группа, количество методов).
+     */
+    private final Map<VirtualFile, List<TestClassesCacheStorage.CachedClass>> entries = new ConcurrentHashMap<>();
+    private final Set<VirtualFile> dirtyFiles = ConcurrentHashMap.newKeySet();
+    private volatile boolean initialized;
+    /**
+     * Номер поколения кэша, увеличивается при каждом сбросе. Результаты полного сканирования,
+     * начатого до сброса, не попадают в кэш.
+     */
+    private long generation;
+
+    public TestClassesCacheService(@NotNull Project project) {
+        this.project = project;
+        this.storage = new TestClassesCacheStorage(project);
+
+        PsiManager.getInstance(project).addPsiTreeChangeListener(new PsiTreeChangeAdapter() {
+            @Override
+            public void childAdded(@NotNull PsiTreeChangeEvent event) {
+                markDirty(event);
+            }
+
+            @Override
+            public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+                markDirty(event);
+            }
+
+            @Override
+            public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+                markDirty(event);
+            }
+
+            @Override
+            public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+                markDirty(event);
+            }
+
+            @Override
+            public void childMoved(@NotNull PsiTreeChangeEvent event) {
+                markDirty(event);
+            }
+        }, this);
+
+        final var connection = project.getMessageBus().connect(this);
+        connection.subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void after(@NotNull List<? extends VFileEvent> events) {
+                events.forEach(TestClassesCacheService.this::markDirty);
+            }
+        });
+        connection.subscribe(ModuleRootListener.TOPIC, new ModuleRootListener() {
+            @Override
+            public void rootsChanged(@NotNull ModuleRootEvent event) {
+                invalidate();
+            }
+        });
+        ApplicationManager.getApplication()
+                .getMessageBus()
+                .connect(this)
+                .subscribe(TestManagerSettingsListener.TOPIC, this::regroup);
+    }
+
+    @NotNull
+    public static TestClassesCacheService getInstance(@NotNull Project project) {
+        return project.getService(TestClassesCacheService.class);
+    }
+
+    /**
+     * Проверяет, заполнен ли кэш полным сканированием.
+     *
+     * @return true, если кэш можно использовать для ответа на запросы
+     */
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * Возвращает текущее поколение кэша; запоминается перед полным сканированием и передается в {@link #fill}.
+     *
+     * @return номер поколения
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Заполняет кэш результатами полного сканирования тестовых исходников.
+     * Файлы, измененные во время сканирования, остаются помеченными и будут перепроверены.
+     * Если после начала сканирования кэш был сброшен (изменились корни проекта или настройки),
+     * результаты устарели и отбрасываются. Записи заменяются по файлам, а не очищаются целиком,
+     * поэтому параллельный {@link #refreshAndGet} не видит пустой кэш.
+     *
+     * @param testClasses    найденные тестовые классы
+     * @param scanGeneration поколение кэша на момент начала сканирования
+     * @return true, если кэш заполнен
+     */
+    public synchronized boolean fill(@NotNull List<TestClassInfoData> testClasses, long scanGeneration) {
+        if (scanGeneration != generation) {
+            log.logInfo("Test classes cache was invalidated during the scan, results are not cached.");
+            return false;
+        }
+        final var filled = new HashMap<VirtualFile, List<TestClassesCacheStorage.CachedClass>>();
+        for (var testClass : testClasses) {
+            final var file = testClass.getVirtualFile();
+            if (file != null) {
+                filled.computeIfAbsent(file, key -> new ArrayList<>()).add(toCachedClass(testClass));
+            }
+        }
+        entries.keySet().retainAll(filled.keySet());
+        entries.putAll(filled);
+        initialized = true;
+        log.logInfo("Test classes cache filled: files=" + entries.size() + ", classes=" + testClasses.size());
+        save();
+        return true;
+    }
+
+    /**
+     * Восстанавливает кэш из сохраненного на диске состояния без построения PSI.
+     * Файлы, у которых изменились timestamp или длина, а также новые файлы-кандидаты из
+     * {@link com.my.junit.testmanager.index.TestClassIndex} помечаются для перепроверки.
+     * Должен вызываться внутри read action в smart mode.
+     *
+     * @return true, если кэш восстановлен и может использоваться
+     */
+    public synchronized boolean restore() {
+        if (initialized) {
+            return true;
+        }
+        final var cachedFiles = storage.load();
+        if (cachedFiles.isEmpty()) {
+            return false;
+        }
+
+        final var candidates = new HashSet<>(
+                PsiUtils.getTestCandidateFiles(GlobalSearchScopesCore.projectTestScope(project)));
+        final var virtualFileManager = VirtualFileManager.getInstance();
+        final var groupMatcher = GroupMatcherService.getInstance().getMatcher();
+        var restored = 0;
+        for (var cachedFile : cachedFiles) {
+            ProgressManager.checkCanceled();
+            final var file = virtualFileManager.findFileByUrl(cachedFile.url());
+            if (file == null || !candidates.remove(file)) {
+                continue;
+            }
+            if (file.getTimeStamp() == cachedFile.timeStamp() && file.getLength() == cachedFile.length()) {
+                entries.put(file, restoreGroups(cachedFile.classes(), groupMatcher));
+                restored++;
+            } else {
+                dirtyFiles.add(file);
+            }
+        }
+        // Кандидаты, которых нет в кэше, появились после сохранения
+        dirtyFiles.addAll(candidates);
+        initialized = true;
+        log.logInfo("Test classes cache restored: files=" + restored + ", toRecheck=" + dirtyFiles.size());
+        return true;
+    }
+
+    /**
+     * Назначает закэшированным классам группы по текущим правилам. Сохраненные имена групп не используются:
+     * правила могли измениться после сохранения кэша, а классы без группы могли попасть под новую группу.
+     *
+     * @param cachedClasses закэшированные классы файла
+     * @param groupMatcher  правила групп активного профиля
+     * @return классы с актуальными группами
+     */
+    @NotNull
+    private static List<TestClassesCacheStorage.CachedClass> restoreGroups(
+            @NotNull List<TestClassesCacheStorage.CachedClass> cachedClasses,
+            @NotNull GroupMatcher groupMatcher
+    ) {
+        return cachedClasses.stream()
+                .map(cachedClass -> withGroup(cachedClass, groupMatcher))
+                .toList();
+    }
+
+    /**
+     * Сохраняет на диск актуальные записи кэша; помеченные файлы не сохраняются и будут перепроверены.
+     */
+    private void save() {
+        final var cachedFiles = new ArrayList<TestClassesCacheStorage.CachedFile>(entries.size());
+        entries.forEach((file, cachedClasses) -> {
+            if (dirtyFiles.contains(file) || !file.isValid()) {
+                return;
+            }
+            cachedFiles.add(new TestClassesCacheStorage.CachedFile(
+                    file.getUrl(),
+                    file.getTimeStamp(),
+                    file.getLength(),
+                    cachedClasses
+            ));
+        });
+        storage.save(cachedFiles);
+    }
+
+    @NotNull
+    private static Map<String, GroupData> getActiveGroupsByName() {
+        final var settings = TestManagerConfig.getInstance();
+        final var groups = new HashMap<String, GroupData>();
+        for (var group : settings.getGroups()) {
+            if (group.getProfiles().contains(settings.getActiveProfile())) {
+                groups.putIfAbsent(group.getName(), group);
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Сбрасывает кэш вместе с сохраненной копией на диске; следующий запрос выполнит полное сканирование,
+     * а устаревший кэш не будет восстановлен после перезапуска IDE.
+     */
+    public synchronized void invalidate() {
+        generation++;
+        initialized = false;
+        entries.clear();
+        dirtyFiles.clear();
+        storage.delete();
+        log.logInfo("Test classes cache invalidated.");
+    }
+
+    /**
+     * Перепроверяет помеченные файлы и возвращает тестовые классы из кэша.
+     * Строки таблицы и указатели на PsiClass создаются здесь для каждого запроса: кэш хранит
+     * только файлы и FQCN, поэтому не удерживает указатели, которые платформа обновляет
+     * при каждом изменении документа. Должен вызываться внутри read action.
+     *
+     * @param finder    сервис поиска, используемый для анализа измененных файлов
+     * @param directory директория для фильтрации (null — все тестовые классы)
+     * @return список данных о тестовых классах
+     */
+    @NotNull
+    public List<TestClassInfoData> refreshAndGet(
+            @NotNull TestClassesFinder finder,
+            @Nullable VirtualFile directory
+    ) {
+        refreshDirtyFiles(finder);
+
+        final var files = new ArrayList<>(entries.keySet());
+        files.sort(Comparator.comparing(VirtualFile::getPath));
+        final var psiManager = PsiManager.getInstance(project);
+        final var groups = getActiveGroupsByName();
+        final var testClasses = new ArrayList<TestClassInfoData>();
+        for (var file : files) {
+            ProgressManager.checkCanceled();
+            final var cachedClasses = entries.get(file);
+            if (cachedClasses == null
+                    || directory != null && !VfsUtilCore.isAncestor(directory, file, false)
+                    || !(psiManager.findFile(file) instanceof PsiJavaFile javaFile)) {
+                continue;
+            }
+            // PsiClass ищется по FQCN среди классов файла, которые читаются из stub-дерева
+            final var psiClasses = new HashMap<String, PsiClass>();
+            for (var psiClass : javaFile.getClasses()) {
+                psiClasses.put(psiClass.getQualifiedName(), psiClass);
+            }
+            for (var cachedClass : cachedClasses) {
+                final var psiClass = psiClasses.get(cachedClass.fqcn());
+                if (psiClass == null) {
+                    // Файл изменился после проверки — перепроверим при следующем запросе
+                    dirtyFiles.add(file);
+                    continue;
+                }
+                final var testClass = TestClassInfoData.of(cachedClass.name(), psiClass);
+                testClass.setMethodCounts(cachedClass.methodCounts());
+                testClass.setGroup(groups.getOrDefault(cachedClass.group(), GroupData.DEFAULT));
+                testClasses.add(testClass);
+            }
+        }
+        return testClasses;
+    }
+
+    /**
+     * Перепроверяет только помеченные и удаленные файлы.
+     *
+     * @param finder сервис поиска
+     */
+    private synchronized void refreshDirtyFiles(@NotNull TestClassesFinder finder) {
+        // Записи не ссылаются на PSI, поэтому перепроверяются только удаленные файлы
+        // и файлы, помеченные слушателями изменений
+        entries.keySet().forEach(file -> {
+            if (!file.isValid()) {
+                dirtyFiles.add(file);
+            }
+        });
+        if (dirtyFiles.isEmpty()) {
+            return;
+        }
+
+        final var fileIndex = ProjectFileIndex.getInstance(project);
+        final var psiManager = PsiManager.getInstance(project);
+        final var changedFiles = List.copyOf(dirtyFiles);
+        for (var file : changedFiles) {
+            ProgressManager.checkCanceled();
+            if (file.isValid() && fileIndex.isInTestSourceContent(file)
+                    && psiManager.findFile(file) instanceof PsiJavaFile javaFile) {
+                final var testClasses = finder.createTestClassInfoData(Arrays.asList(javaFile.getClasses()));
+                if (testClasses.isEmpty()) {
+                    entries.remove(file);
+                } else {
+                    entries.put(file, testClasses.stream().map(TestClassesCacheService::toCachedClass).toList());
+                }
+            } else {
+                entries.remove(file);
+            }
+            dirtyFiles.remove(file);
+        }
+        log.logInfo("Test classes cache refreshed " + changedFiles.size() + " changed files.");
+    }
+
+    /**
+     * Переопределяет группы закэшированных тестовых классов после изменения настроек
+     * и сохраняет кэш, чтобы после перезапуска не восстанавливались прежние группы.
+     *
+     * @param settings актуальные настройки
+     */
+    private synchronized void regroup(@NotNull TestManagerConfig settings) {
+        if (!initialized) {
+            return;
+        }
+        final var groupMatcher = GroupMatcher.compile(settings);
+        entries.replaceAll((file, cachedClasses) -> restoreGroups(cachedClasses, groupMatcher));
+        save();
+        log.logInfo("Test classes cache regrouped after settings change.");
+    }
+
+    /**
+     * Создает запись кэша из найденного тестового класса.
+     *
+     * @param testClass данные о тестовом классе
+     * @return запись кэша
+     */
+    @NotNull
+    private static TestClassesCacheStorage.CachedClass toCachedClass(@NotNull TestClassInfoData testClass) {
+        return new TestClassesCacheStorage.CachedClass(
+                testClass.getName(),
+                testClass.getPath(),
+                Objects.requireNonNullElse(testClass.getGroup().getName(), DEFAULT_GROUP),
+                testClass.getMethodCounts()
+        );
+    }
+
+    /**
+     * Назначает закэшированному классу группу по скомпилированным правилам.
+     *
+     * @param cachedClass  запись кэша
+     * @param groupMatcher правила групп активного профиля
+     * @return запись с актуальной группой
+     */
+    @NotNull
+    private static TestClassesCacheStorage.CachedClass withGroup(
+            @NotNull TestClassesCacheStorage.CachedClass cachedClass,
+            @NotNull GroupMatcher groupMatcher
+    ) {
+        final var group = groupMatcher.match(cachedClass.fqcn());
+        return new TestClassesCacheStorage.CachedClass(
+                cachedClass.name(),
+                cachedClass.fqcn(),
+                group != null ? Objects.requireNonNullElse(group.getName(), DEFAULT_GROUP) : DEFAULT_GROUP,
+                cachedClass.methodCounts()
+        );
+    }
+
+    private void markDirty(@NotNull PsiTreeChangeEvent event) {
+        final var psiFile = event.getFile();
+        if (psiFile != null) {
+            markDirty(psiFile.getVirtualFile());
+        }
+    }
+
+    private void markDirty(@NotNull VFileEvent event) {
+        // Для директорий помечаются вложенные Java-файлы, события вне контента проекта пропускаются
+        VfsEventUtils.forEachAffectedJavaFile(project, event, dirtyFiles::add);
+    }
+
+    private void markDirty(@Nullable VirtualFile file) {
+        if (file != null && JavaFileType.INSTANCE.equals(file.getFileType())) {
+            dirtyFiles.add(file);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (initialized) {
+            save();
+        }
+        entries.clear();
+        dirtyFiles.clear();
+    }
+}
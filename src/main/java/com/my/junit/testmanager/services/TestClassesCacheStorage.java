@@ -0,0 +1,166 @@
+package com.my.junit.testmanager.services;
+
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.project.Project;
+import com.my.junit.testmanager.data.TestMethodCounts;
+import com.my.junit.testmanager.utils.LoggerUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Бинарное хранилище кэша тестовых классов в системной директории IDE.
+ * Позволяет после перезапуска IDE перепроверять только измененные файлы вместо полного сканирования.
+ * <p>
+ * Формат: версия, количество файлов, затем для каждого файла URL, timestamp, длина
+ * и список классов (имя, FQCN, имя группы, признак подсчета и количество тестовых методов по типам).
+ */
+public class TestClassesCacheStorage {
+    private static final LoggerUtils log = LoggerUtils.getLogger(TestClassesCacheStorage.class);
+    private static final int VERSION = 3;
+    private static final String CACHE_DIRECTORY = "junit-test-manager";
+
+    /**
+     * Закэшированный файл тестовых исходников.
+     *
+     * @param url       URL файла
+     * @param timeStamp время изменения файла на диске
+     * @param length    длина файла
+     * @param classes   тестовые классы файла
+     */
+    public record CachedFile(
+            @NotNull String url,
+            long timeStamp,
+            long length,
+            @NotNull List<CachedClass> classes
+    ) {
+    }
+
+    /**
+     * Закэшированный тестовый класс.
+     *
+     * @param name         простое имя класса
+     * @param fqcn         полное имя класса
+     * @param group        имя назначенной группы
+     * @param methodCounts количество тестовых методов или null, если методы не подсчитывались
+     */
+    public record CachedClass(
+            @NotNull String name,
+            @NotNull String fqcn,
+            @NotNull String group,
+            @Nullable TestMethodCounts methodCounts
+    ) {
+    }
+
+    private final Path file;
+
+    public TestClassesCacheStorage(@NotNull Project project) {
+        this(Path.of(PathManager.getSystemPath(), CACHE_DIRECTORY, project.getLocationHash() + ".bin"));
+    }
+
+    TestClassesCacheStorage(@NotNull Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Читает кэш с диска.
+     *
+     * @return закэшированные файлы или пустой список, если кэш отсутствует, устарел или поврежден
+     */
+    @NotNull
+    public List<CachedFile> load() {
+        if (!Files.isRegularFile(file)) {
+            return List.of();
+        }
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != VERSION) {
+                log.logInfo("Test classes cache version mismatch, ignoring: " + file);
+                return List.of();
+            }
+            final var fileCount = in.readInt();
+            final var files = new ArrayList<CachedFile>(fileCount);
+            for (int i = 0; i < fileCount; i++) {
+                final var url = in.readUTF();
+                final var timeStamp = in.readLong();
+                final var length = in.readLong();
+                final var classCount = in.readInt();
+                final var classes = new ArrayList<CachedClass>(classCount);
+                for (int j = 0; j < classCount; j++) {
+                    classes.add(new CachedClass(
+                            in.readUTF(),
+                            in.readUTF(),
+                            in.readUTF(),
+                            in.readBoolean()
+                                    ? new TestMethodCounts(in.readInt(), in.readInt(), in.readInt(), in.readInt())
+                                    : null
+                    ));
+                }
+                files.add(new CachedFile(url, timeStamp, length, classes));
+            }
+            return files;
+        } catch (IOException | RuntimeException e) {
+            log.logWarn("Failed to read test classes cache: " + file + " (" + e.getMessage() + ")");
+            return List.of();
+        }
+    }
+
+    /**
+     * Записывает кэш на диск через временный файл, чтобы не оставить поврежденный кэш.
+     *
+     * @param files закэшированные файлы
+     */
+    public void save(@NotNull List<CachedFile> files) {
+        try {
+            Files.createDirectories(file.getParent());
+            final var tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(VERSION);
+                out.writeInt(files.size());
+                for (var cachedFile : files) {
+                    out.writeUTF(cachedFile.url());
+                    out.writeLong(cachedFile.timeStamp());
+                    out.writeLong(cachedFile.length());
+                    out.writeInt(cachedFile.classes().size());
+                    for (var cachedClass : cachedFile.classes()) {
+                        out.writeUTF(cachedClass.name());
+                        out.writeUTF(cachedClass.fqcn());
+                        out.writeUTF(cachedClass.group());
+                        final var methodCounts = cachedClass.methodCounts();
+                        out.writeBoolean(methodCounts != null);
+                        if (methodCounts != null) {
+                            out.writeInt(methodCounts.tests());
+                            out.writeInt(methodCounts.parameterized());
+                            out.writeInt(methodCounts.repeated());
+                            out.writeInt(methodCounts.factories());
+                        }
+                    }
+                }
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.logInfo("Test classes cache saved: files=" + files.size());
+        } catch (IOException e) {
+            log.logWarn("Failed to write test classes cache: " + file + " (" + e.getMessage() + ")");
+        }
+    }
+
+    /**
+     * Удаляет кэш с диска.
+     */
+    public void delete() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.logWarn("Failed to delete test classes cache: " + file + " (" + e.getMessage() + ")");
+        }
+    }
+}
@@ -1,29 +1,64 @@
 package com.my.junit.testmanager.services;
 
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.CompilerModuleExtension;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
 import com.my.junit.testmanager.config.TestManagerConfig;
 import com.my.junit.testmanager.config.data.GroupData;
 import com.my.junit.testmanager.data.SearchType;
 import com.my.junit.testmanager.data.TestClassInfoData;
+import com.my.junit.testmanager.utils.ClassFileTestScanner;
+import com.my.junit.testmanager.utils.GitChangesUtils;
+import com.my.junit.testmanager.utils.GroupMatcher;
 import com.my.junit.testmanager.utils.LoggerUtils;
+import com.my.junit.testmanager.utils.NotificationUtils;
+import com.my.junit.testmanager.utils.ParallelModuleUtils;
+import com.my.junit.testmanager.utils.PhaseMetrics;
 import com.my.junit.testmanager.utils.PsiUtils;
+import com.my.junit.testmanager.utils.TestClassDetector;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.jps.model.java.JavaSourceRootType;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+import static com.my.junit.testmanager.utils.MessagesBundle.message;
 import static java.util.Objects.requireNonNull;
 
 /**
  * Сервис для поиска тестовых классов в проекте.
  */
 public class TestClassesFinder {
+    private static final String JAVA_EXTENSION = ".java";
+    private static final String DISCOVERY_OPERATION = "Find tests";
+    private static final String[] TEST_NAME_SUFFIXES = {"Test", "Tests", "TestCase", "IT"};
+    private static final String TEST_NAME_PREFIX = "Test";
+
     private final LoggerUtils log = LoggerUtils.getLogger(TestClassesFinder.class);
 
     /**
@@ -31,83 +66,596 @@ public class TestClassesFinder {
      */
     private final Project project;
 
+    /**
+     * Замеры фаз текущего поиска; создаются заново при каждом вызове collect.
+     */
+    private volatile PhaseMetrics metrics = new PhaseMetrics(DISCOVERY_OPERATION);
+
     public TestClassesFinder(@NotNull Project project) {
         this.project = project;
     }
 
     /**
      * Собирает тестовые классы в проекте в зависимости от типа поиска.
+     * Должен вызываться из фонового потока без read lock: поиск выполняется в non-blocking read action,
+     * которые перезапускаются при write action; прогресс и отмена передаются через индикатор.
      *
      * @param searchType тип поиска (все классы, измененные классы или классы в директории)
      * @param directory  директория для поиска (только для типа DIRECTORY)
+     * @param indicator  индикатор прогресса
      * @return список данных о тестовых классах
      */
     public List<TestClassInfoData> collect(
             @NotNull SearchType searchType,
-            @Nullable VirtualFile directory
+            @Nullable VirtualFile directory,
+            @NotNull ProgressIndicator indicator
     ) {
+        return collect(searchType, directory, null, indicator);
+    }
+
+    /**
+     * Собирает тестовые классы в проекте в зависимости от типа поиска.
+     *
+     * @param searchType   тип поиска
+     * @param directory    директория для поиска (только для типа DIRECTORY)
+     * @param baseRevision ветка или коммит, от которых считаются изменения (только для типа REVISION_CHANGES)
+     * @param indicator    индикатор прогресса
+     * @return список данных о тестовых классах
+     */
+    public List<TestClassInfoData> collect(
+            @NotNull SearchType searchType,
+            @Nullable VirtualFile directory,
+            @Nullable String baseRevision,
+            @NotNull ProgressIndicator indicator
+    ) {
+        return collect(searchType, directory, baseRevision, indicator, null);
+    }
+
+    /**
+     * Собирает тестовые классы в проекте, передавая найденные классы частями по мере их появления.
+     * При полном сканировании проекта часть соответствует одному обработанному модулю,
+     * для остальных типов поиска весь результат передается одной частью.
+     * Каждый найденный класс передается ровно один раз.
+     *
+     * @param searchType   тип поиска
+     * @param directory    директория для поиска (только для типа DIRECTORY)
+     * @param baseRevision ветка или коммит, от которых считаются изменения (только для типа REVISION_CHANGES)
+     * @param indicator    индикатор прогресса
+     * @param onBatch      получатель найденных классов (может быть null), вызывается из потока поиска
+     *                     до возврата из метода
+     * @return список данных о тестовых классах
+     */
+    public List<TestClassInfoData> collect(
+            @NotNull SearchType searchType,
+            @Nullable VirtualFile directory,
+            @Nullable String baseRevision,
+            @NotNull ProgressIndicator indicator,
+            @Nullable Consumer<List<TestClassInfoData>> onBatch
+    ) {
+        final var currentMetrics = new PhaseMetrics(DISCOVERY_OPERATION + ": " + searchType);
+        metrics = currentMetrics;
+        try {
+            final var testClasses = collectWithMetrics(searchType, directory, baseRevision, indicator, onBatch);
+            currentMetrics.add(PhaseMetrics.Counter.RESULTS, testClasses.size());
+            return testClasses;
+        } finally {
+            PhaseMetricsService.getInstance(project).record(currentMetrics);
+        }
+    }
+
+    private List<TestClassInfoData> collectWithMetrics(
+            @NotNull SearchType searchType,
+            @Nullable VirtualFile directory,
+            @Nullable String baseRevision,
+            @NotNull ProgressIndicator indicator,
+            @Nullable Consumer<List<TestClassInfoData>> onBatch
+    ) {
+        final var cache = TestClassesCacheService.getInstance(project);
+        if (searchType == SearchType.ALL && !isProvisionalSearch(searchType) && !isCacheReady(cache, indicator)) {
+            final var generation = cache.getGeneration();
+            return fillCache(cache, generation, findAllTestClasses(indicator, onBatch));
+        }
+        final var testClasses = collectAtOnce(searchType, directory, baseRevision, indicator, cache);
+        if (onBatch != null) {
+            onBatch.accept(testClasses);
+        }
+        return testClasses;
+    }
+
+    /**
+     * Выполняет поиск, результат которого формируется целиком (кэш, изменения, директория).
+     */
+    private List<TestClassInfoData> collectAtOnce(
+            @NotNull SearchType searchType,
+            @Nullable VirtualFile directory,
+            @Nullable String baseRevision,
+            @NotNull ProgressIndicator indicator,
+            @NotNull TestClassesCacheService cache
+    ) {
+        if (isProvisionalSearch(searchType)) {
+            return findProvisionalTestClasses(directory, indicator);
+        }
         return switch (searchType) {
-            case ALL -> findAllTestClasses();
-            case CHANGES -> findTestClassesInChanges();
-            case DIRECTORY -> findTestClassesInDirectory(requireNonNull(directory));
+            case ALL -> inReadAction(() -> refreshCache(cache, null), indicator);
+            case CHANGES -> inReadAction(() -> findTestClassesInChanges(indicator), indicator);
+            case REVISION_CHANGES -> findTestClassesSinceRevision(requireNonNull(baseRevision), indicator);
+            case IMPACT -> inReadAction(() -> findImpactedTestClasses(indicator), indicator);
+            case DIRECTORY -> inReadAction(
+                    () -> isCachedDirectory(cache, requireNonNull(directory))
+                            ? refreshCache(cache, directory)
+                            : findTestClassesInDirectory(directory, indicator),
+                    indicator
+            );
         };
     }
 
     /**
-     * Ищем все тестовые классы в проекте.
+     * Возвращает классы из кэша, перепроверив измененные файлы.
+     */
+    @NotNull
+    private List<TestClassInfoData> refreshCache(
+            @NotNull TestClassesCacheService cache,
+            @Nullable VirtualFile directory
+    ) {
+        try (var ignored = metrics.phase(PhaseMetrics.PHASE_CACHE)) {
+            return cache.refreshAndGet(this, directory);
+        }
+    }
+
+    /**
+     * Проверяет, будет ли поиск выполнен в предварительном режиме: пока проект индексируется,
+     * поиск всех тестов и тестов в директории работает без индексов (см. {@link #findProvisionalTestClasses}).
+     *
+     * @param searchType тип поиска
+     * @return true, если результат будет предварительным
+     */
+    public boolean isProvisionalSearch(@NotNull SearchType searchType) {
+        return (searchType == SearchType.ALL || searchType == SearchType.DIRECTORY)
+                && DumbService.isDumb(project);
+    }
+
+    /**
+     * Выполняет поиск в non-blocking read action в текущем потоке.
      *
+     * @param search    поиск
+     * @param indicator индикатор прогресса
+     * @param <T>       тип результата
+     * @return результат поиска
+     */
+    @NotNull
+    private <T> T inReadAction(
+            @NotNull Callable<T> search,
+            @NotNull ProgressIndicator indicator
+    ) {
+        return ReadAction
+                .nonBlocking(search)
+                .expireWith(project)
+                .wrapProgress(indicator)
+                .executeSynchronously();
+    }
+
+    /**
+     * Проверяет, готов ли кэш; при первом обращении пытается восстановить его с диска.
+     *
+     * @param cache     кэш тестовых классов
+     * @param indicator индикатор прогресса
+     * @return true, если поиск можно выполнить по кэшу
+     */
+    private boolean isCacheReady(@NotNull TestClassesCacheService cache, @NotNull ProgressIndicator indicator) {
+        if (cache.isInitialized()) {
+            return true;
+        }
+        return isIndexAvailable() && ReadAction
+                .nonBlocking(() -> {
+                    try (var ignored = metrics.phase(PhaseMetrics.PHASE_CACHE)) {
+                        return cache.restore();
+                    }
+                })
+                .inSmartMode(project)
+                .expireWith(project)
+                .wrapProgress(indicator)
+                .executeSynchronously();
+    }
+
+    /**
+     * Заполняет кэш результатами полного сканирования, если кэш не сбрасывался во время сканирования.
+     *
+     * @param cache       кэш тестовых классов
+     * @param generation  поколение кэша на момент начала сканирования
+     * @param testClasses найденные тестовые классы
+     * @return те же тестовые классы
+     */
+    @NotNull
+    private List<TestClassInfoData> fillCache(
+            @NotNull TestClassesCacheService cache,
+            long generation,
+            @NotNull List<TestClassInfoData> testClasses
+    ) {
+        cache.fill(testClasses, generation);
+        return testClasses;
+    }
+
+    /**
+     * Проверяет, можно ли ответить на поиск по директории из кэша:
+     * кэш заполнен, а директория находится в тестовых исходниках.
+     *
+     * @param cache     кэш тестовых классов
+     * @param directory директория для поиска
+     * @return true, если результат можно взять из кэша
+     */
+    private boolean isCachedDirectory(@NotNull TestClassesCacheService cache, @NotNull VirtualFile directory) {
+        return cache.isInitialized()
+                && ProjectFileIndex.getInstance(project).isInTestSourceContent(directory);
+    }
+
+    /**
+     * Ищем все тестовые классы в проекте, обрабатывая модули параллельно.
+     *
+     * @param indicator индикатор прогресса
      * @return список данных о тестовых классах
      */
-    private List<TestClassInfoData> findAllTestClasses() {
-        log.logInfo("Collecting all test classes in project...");
-        final var psiClasses = PsiUtils.getAllPsiClassesFromAllModules(
+    @NotNull
+    private List<TestClassInfoData> findAllTestClasses(
+            @NotNull ProgressIndicator indicator,
+            @Nullable Consumer<List<TestClassInfoData>> onModuleProcessed
+    ) {
+        final var parallelism = TestManagerConfig.getInstance().getDiscoveryParallelism();
+        log.logInfo("Collecting all test classes in project, parallelism=" + parallelism + "...");
+        final var useIndex = isIndexAvailable();
+        final var startNanos = System.nanoTime();
+
+        final var testClasses = ParallelModuleUtils.processModules(
                 project,
-                JavaSourceRootType.TEST_SOURCE
+                indicator,
+                parallelism,
+                module -> {
+                    final var moduleTestClasses = createTestClassInfoData(loadPsiClasses(() -> useIndex
+                            ? PsiUtils.getTestCandidatePsiClassesFromModule(
+                                    project, module, JavaSourceRootType.TEST_SOURCE)
+                            : PsiUtils.getAllPsiClassesFromModule(project, module, JavaSourceRootType.TEST_SOURCE)));
+                    log.logInfoRateLimited(() -> "Module processed: " + module.getName()
+                            + ", test classes=" + moduleTestClasses.size());
+                    return moduleTestClasses;
+                },
+                onModuleProcessed
         );
-        return psiClasses
-                .stream()
-                .map(this::createTestClassInfoData)
-                .filter(Objects::nonNull)
-                .toList();
+        log.logInfo("Collected " + testClasses.size() + " test classes in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) + " ms");
+        return testClasses;
+    }
+
+    /**
+     * Загружает PsiClass-ы с замером фазы загрузки PSI.
+     *
+     * @param loader загрузчик классов
+     * @return загруженные классы
+     */
+    @NotNull
+    private List<PsiClass> loadPsiClasses(@NotNull Supplier<List<PsiClass>> loader) {
+        try (var ignored = metrics.phase(PhaseMetrics.PHASE_PSI_LOAD)) {
+            final var psiClasses = loader.get();
+            metrics.add(PhaseMetrics.Counter.PSI_LOADS, psiClasses.size());
+            return psiClasses;
+        }
     }
 
     /**
      * Ищем тестовые классы в измененных файлах.
      *
+     * @param indicator индикатор прогресса
      * @return список данных о тестовых классах
      */
     @NotNull
-    private List<TestClassInfoData> findTestClassesInChanges() {
+    private List<TestClassInfoData> findTestClassesInChanges(@NotNull ProgressIndicator indicator) {
         log.logInfo("Collecting test classes in changed files...");
-        final var psiClasses = PsiUtils.getChangedPsiClassesFromAllModules(
+        final var psiClasses = loadPsiClasses(() -> PsiUtils.getChangedPsiClassesFromAllModules(
                 project,
                 JavaSourceRootType.TEST_SOURCE
-        );
-        return psiClasses
-                .stream()
-                .map(this::createTestClassInfoData)
-                .filter(Objects::nonNull)
-                .toList();
+        ));
+        return createTestClassInfoDataWithProgress(psiClasses, indicator);
+    }
+
+    /**
+     * Ищем тестовые классы, на которые влияют измененные классы исходников и тестов.
+     *
+     * @param indicator индикатор прогресса
+     * @return список данных о тестовых классах
+     */
+    @NotNull
+    private List<TestClassInfoData> findImpactedTestClasses(@NotNull ProgressIndicator indicator) {
+        log.logInfo("Collecting test classes affected by changes...");
+        final var changedFiles = new LinkedHashSet<VirtualFile>();
+        for (var sourceRootType : List.of(JavaSourceRootType.SOURCE, JavaSourceRootType.TEST_SOURCE)) {
+            for (var psiClass : PsiUtils.getChangedPsiClassesFromAllModules(project, sourceRootType)) {
+                final var psiFile = psiClass.getContainingFile();
+                if (psiFile != null && psiFile.getVirtualFile() != null) {
+                    changedFiles.add(psiFile.getVirtualFile());
+                }
+            }
+        }
+
+        final List<VirtualFile> affectedFiles;
+        try (var ignored = metrics.phase(PhaseMetrics.PHASE_INDEX_LOOKUP)) {
+            affectedFiles = new ArrayList<>(TestImpactService.getInstance(project).findAffectedTestFiles(changedFiles));
+        }
+        metrics.add(PhaseMetrics.Counter.FILES_VISITED, affectedFiles.size());
+        affectedFiles.sort(Comparator.comparing(VirtualFile::getPath));
+        final var psiManager = PsiManager.getInstance(project);
+        final var psiClasses = new ArrayList<PsiClass>();
+        for (var file : affectedFiles) {
+            if (psiManager.findFile(file) instanceof PsiJavaFile javaFile) {
+                psiClasses.addAll(Arrays.asList(javaFile.getClasses()));
+            }
+        }
+        return createTestClassInfoDataWithProgress(psiClasses, indicator);
+    }
+
+    /**
+     * Ищем тестовые классы, измененные относительно ветки или коммита, а также незакоммиченные.
+     * Изменения в истории определяются через JGit; PSI строится только для измененных .java файлов.
+     *
+     * @param baseRevision ветка или коммит
+     * @param indicator    индикатор прогресса
+     * @return список данных о тестовых классах
+     */
+    @NotNull
+    private List<TestClassInfoData> findTestClassesSinceRevision(
+            @NotNull String baseRevision,
+            @NotNull ProgressIndicator indicator
+    ) {
+        log.logInfo("Collecting test classes changed since: " + baseRevision);
+        final var startNanos = System.nanoTime();
+        final var roots = inReadAction(this::getTestSourceRootPaths, indicator);
+        final List<Path> changedFiles;
+        try (var ignored = metrics.phase(PhaseMetrics.PHASE_GIT_DIFF)) {
+            changedFiles = GitChangesUtils.getChangedFiles(roots, baseRevision, JAVA_EXTENSION);
+        } catch (IOException | IllegalArgumentException e) {
+            log.logWarn("Failed to collect Git changes since " + baseRevision + ": " + e.getMessage());
+            NotificationUtils.showWarningNotification(message("dialog.git.changes.failed", e.getMessage()));
+            return List.of();
+        }
+        metrics.add(PhaseMetrics.Counter.FILES_VISITED, changedFiles.size());
+        log.logInfo("Git reported " + changedFiles.size() + " changed test files in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) + " ms");
+
+        return inReadAction(() -> {
+            final var fileIndex = ProjectFileIndex.getInstance(project);
+            final var psiManager = PsiManager.getInstance(project);
+            final var localFileSystem = LocalFileSystem.getInstance();
+            final var psiClasses = new LinkedHashSet<PsiClass>();
+            for (var path : changedFiles) {
+                ProgressManager.checkCanceled();
+                final var file = localFileSystem.findFileByNioFile(path);
+                if (file != null && fileIndex.isInTestSourceContent(file)
+                        && psiManager.findFile(file) instanceof PsiJavaFile javaFile) {
+                    psiClasses.addAll(Arrays.asList(javaFile.getClasses()));
+                }
+            }
+            // Незакоммиченные изменения тоже входят в выборку
+            psiClasses.addAll(PsiUtils.getChangedPsiClassesFromAllModules(project, JavaSourceRootType.TEST_SOURCE));
+            return createTestClassInfoDataWithProgress(new ArrayList<>(psiClasses), indicator);
+        }, indicator);
+    }
+
+    /**
+     * Получение путей тестовых корней всех модулей на локальной файловой системе.
+     *
+     * @return пути тестовых корней
+     */
+    @NotNull
+    private List<Path> getTestSourceRootPaths() {
+        final var roots = new ArrayList<Path>();
+        for (var root : getTestSourceRoots()) {
+            if (root.isInLocalFileSystem()) {
+                roots.add(root.toNioPath());
+            }
+        }
+        return roots;
     }
 
     /**
      * Ищем тестовые классы в указанной директории.
      *
      * @param directory директория для поиска тестовых классов
+     * @param indicator индикатор прогресса
      * @return список данных о тестовых классах
      */
     @NotNull
-    private List<TestClassInfoData> findTestClassesInDirectory(@NotNull VirtualFile directory) {
+    private List<TestClassInfoData> findTestClassesInDirectory(
+            @NotNull VirtualFile directory,
+            @NotNull ProgressIndicator indicator
+    ) {
         log.logInfo("Collecting test classes in directory: " + directory.getPath());
-        final var psiClasses = PsiUtils.getAllPsiClassesFromDirectory(
-                project,
-                directory
-        );
-        return psiClasses
-                .stream()
-                .map(this::createTestClassInfoData)
-                .filter(Objects::nonNull)
-                .toList();
+        final var useIndex = isIndexAvailable();
+        final var psiClasses = loadPsiClasses(() -> useIndex
+                ? PsiUtils.getTestCandidatePsiClassesFromDirectory(project, directory)
+                : PsiUtils.getAllPsiClassesFromDirectory(project, directory));
+        return createTestClassInfoDataWithProgress(psiClasses, indicator);
+    }
+
+    /**
+     * Отбирает тестовые классы из списка, проверяя отмену на каждом классе.
+     *
+     * @param psiClasses классы для анализа
+     * @return список данных о тестовых классах
+     */
+    @NotNull
+    List<TestClassInfoData> createTestClassInfoData(@NotNull List<PsiClass> psiClasses) {
+        final var testClasses = new ArrayList<TestClassInfoData>();
+        final var skipped = log.summary("Skipped non-test classes");
+        for (var psiClass : psiClasses) {
+            ProgressManager.checkCanceled();
+            final var testClassInfo = createTestClassInfoData(psiClass);
+            if (testClassInfo != null) {
+                testClasses.add(testClassInfo);
+            } else {
+                skipped.increment();
+            }
+        }
+        skipped.log();
+        return testClasses;
+    }
+
+    /**
+     * Отбирает тестовые классы из списка, обновляя прогресс по количеству обработанных классов.
+     *
+     * @param psiClasses классы для анализа
+     * @param indicator  индикатор прогресса
+     * @return список данных о тестовых классах
+     */
+    @NotNull
+    private List<TestClassInfoData> createTestClassInfoDataWithProgress(
+            @NotNull List<PsiClass> psiClasses,
+            @NotNull ProgressIndicator indicator
+    ) {
+        final var testClasses = new ArrayList<TestClassInfoData>();
+        for (int i = 0; i < psiClasses.size(); i++) {
+            ProgressManager.checkCanceled();
+            indicator.setFraction((double) i / psiClasses.size());
+            final var testClassInfo = createTestClassInfoData(psiClasses.get(i));
+            if (testClassInfo != null) {
+                testClasses.add(testClassInfo);
+            }
+        }
+        indicator.setFraction(1.0);
+        return testClasses;
+    }
+
+    /**
+     * Предварительный поиск тестовых классов во время индексации.
+     * Тестовые классы определяются по байткоду в директориях скомпилированных тестов
+     * и по именам файлов; PSI строится только для найденных файлов, резолв не выполняется.
+     *
+     * @param directory директория для поиска (null — все тестовые корни проекта)
+     * @param indicator индикатор прогресса
+     * @return предварительный список данных о тестовых классах
+     */
+    @NotNull
+    private List<TestClassInfoData> findProvisionalTestClasses(
+            @Nullable VirtualFile directory,
+            @NotNull ProgressIndicator indicator
+    ) {
+        log.logInfo("Project is indexing, collecting provisional test classes"
+                + (directory != null ? " in directory: " + directory.getPath() : "") + "...");
+        final var startNanos = System.nanoTime();
+        final var outputDirectories = inReadAction(() -> getTestOutputDirectories(directory), indicator);
+        final var bytecodeTestClasses = new HashSet<String>();
+        for (var outputDirectory : outputDirectories) {
+            bytecodeTestClasses.addAll(ClassFileTestScanner.scanOutputDirectory(outputDirectory));
+        }
+
+        final var testClasses = inReadAction(() -> {
+            final var fileIndex = ProjectFileIndex.getInstance(project);
+            final var psiManager = PsiManager.getInstance(project);
+            final var roots = directory != null ? List.of(directory) : getTestSourceRoots();
+            final var result = new ArrayList<TestClassInfoData>();
+            for (var root : roots) {
+                VfsUtilCore.iterateChildrenRecursively(root, null, file -> {
+                    ProgressManager.checkCanceled();
+                    metrics.increment(PhaseMetrics.Counter.FILES_VISITED);
+                    if (!file.isDirectory()
+                            && file.getName().endsWith(JAVA_EXTENSION)
+                            && fileIndex.isInTestSourceContent(file)
+                            && isProvisionalTestFile(fileIndex, file, bytecodeTestClasses)
+                            && psiManager.findFile(file) instanceof PsiJavaFile javaFile) {
+                        for (var psiClass : javaFile.getClasses()) {
+                            if (file.getNameWithoutExtension().equals(psiClass.getName())) {
+                                final var testClassInfo = TestClassInfoData.of(psiClass.getName(), psiClass);
+                                determineGroup(testClassInfo);
+                                result.add(testClassInfo);
+                            }
+                        }
+                    }
+                    return true;
+                });
+            }
+            return result;
+        }, indicator);
+        log.logInfo("Collected " + testClasses.size() + " provisional test classes (bytecode: "
+                + bytecodeTestClasses.size() + ") in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) + " ms");
+        return testClasses;
+    }
+
+    /**
+     * Проверяет файл по имени класса и по результатам анализа байткода.
+     */
+    private boolean isProvisionalTestFile(
+            @NotNull ProjectFileIndex fileIndex,
+            @NotNull VirtualFile file,
+            @NotNull Set<String> bytecodeTestClasses
+    ) {
+        final var className = file.getNameWithoutExtension();
+        for (var suffix : TEST_NAME_SUFFIXES) {
+            if (className.endsWith(suffix)) {
+                return true;
+            }
+        }
+        if (className.startsWith(TEST_NAME_PREFIX)) {
+            return true;
+        }
+        final var packageName = fileIndex.getPackageNameByDirectory(requireNonNull(file.getParent()));
+        final var qualifiedName = packageName == null || packageName.isEmpty()
+                ? className
+                : packageName + "." + className;
+        return bytecodeTestClasses.contains(qualifiedName);
+    }
+
+    /**
+     * Получение директорий скомпилированных тестов (всех модулей или модуля директории).
+     *
+     * @param directory директория поиска (null — все модули)
+     * @return существующие директории скомпилированных тестов
+     */
+    @NotNull
+    private List<Path> getTestOutputDirectories(@Nullable VirtualFile directory) {
+        final var modules = new ArrayList<Module>();
+        if (directory == null) {
+            modules.addAll(Arrays.asList(ModuleManager.getInstance(project).getModules()));
+        } else {
+            final var module = ProjectFileIndex.getInstance(project).getModuleForFile(directory);
+            if (module != null) {
+                modules.add(module);
+            }
+        }
+        final var outputDirectories = new ArrayList<Path>();
+        for (var module : modules) {
+            final var compilerExtension = CompilerModuleExtension.getInstance(module);
+            final var outputUrl = compilerExtension != null
+                    ? compilerExtension.getCompilerOutputUrlForTests()
+                    : null;
+            if (outputUrl != null) {
+                outputDirectories.add(Path.of(VfsUtilCore.urlToPath(outputUrl)));
+            }
+        }
+        return outputDirectories;
+    }
+
+    /**
+     * Получение тестовых корней всех модулей.
+     *
+     * @return тестовые корни
+     */
+    @NotNull
+    private List<VirtualFile> getTestSourceRoots() {
+        final var roots = new ArrayList<VirtualFile>();
+        for (var module : ModuleManager.getInstance(project).getModules()) {
+            roots.addAll(ModuleRootManager.getInstance(module).getSourceRoots(JavaSourceRootType.TEST_SOURCE));
+        }
+        return roots;
+    }
+
+    /**
+     * Проверяет, можно ли использовать индекс тестовых классов (индексы недоступны в dumb mode).
+     *
+     * @return true, если индексы готовы к использованию
+     */
+    private boolean isIndexAvailable() {
+        if (DumbService.isDumb(project)) {
+            log.logInfo("Project is in dumb mode, falling back to directory walk.");
+            return false;
+        }
+        return true;
     }
 
     /**
@@ -120,21 +668,29 @@ public class TestClassesFinder {
     private TestClassInfoData createTestClassInfoData(
             @NotNull PsiClass psiClass
     ) {
-        log.logInfo("Filtering PsiClass: " + psiClass.getName());
-        if (!PsiUtils.isTestClass(psiClass)) {
-            log.logInfo("PsiClass is not a test class: " + psiClass.getName());
+        log.logDebug("Filtering PsiClass: {}", psiClass);
+        metrics.increment(PhaseMetrics.Counter.CLASSES_INSPECTED);
+        final boolean testClass;
+        try (var ignored = metrics.phase(PhaseMetrics.PHASE_TEST_DETECTION)) {
+            testClass = PsiUtils.isTestClass(psiClass);
+        }
+        if (!testClass) {
+            log.logDebug("PsiClass is not a test class: {}", psiClass);
             return null;
         }
         final var simpleName = psiClass.getName();
         if (simpleName == null) {
-            log.logWarn("PsiClass with null name: " + psiClass.getText());
+            log.logWarn(() -> "PsiClass with null name: " + psiClass.getText());
             return null;
         }
-        log.logInfo("Found test class: " + simpleName);
+        log.logDebug("Found test class: {}", simpleName);
         final var testClassInfo = TestClassInfoData.of(
                 simpleName,
                 psiClass
         );
+        try (var ignored = metrics.phase(PhaseMetrics.PHASE_TEST_DETECTION)) {
+            testClassInfo.setMethodCounts(TestClassDetector.countTestMethods(psiClass));
+        }
         determineGroup(testClassInfo);
         return testClassInfo;
     }
@@ -146,45 +702,27 @@ public class TestClassesFinder {
      * @param testClassInfoData данные о тестовом классе
      */
     private void determineGroup(@NotNull TestClassInfoData testClassInfoData) {
-        log.logInfo("Determining group for test class: " + testClassInfoData.getName());
-
-        final var settings = TestManagerConfig.getInstance();
-        final var activeProfile = settings.getActiveProfile();
-        final var testPath = testClassInfoData.getPath();
-
-        final var assigned = settings.getGroups().stream()
-                .filter(group -> group.getProfiles().contains(activeProfile))
-                .filter(group -> matchesGroupRegex(group, testPath))
-                .findFirst()
-                .orElse(null);
-
-        if (assigned != null) {
-            testClassInfoData.setGroup(assigned);
-            log.logInfo("Assigned group: " + assigned.getName() + " to test class: " + testClassInfoData.getName());
-        } else {
-            log.logInfo("No matching group found. Assigned default group to test class: " + testClassInfoData.getName());
-        }
+        determineGroup(testClassInfoData, GroupMatcherService.getInstance().getMatcher());
     }
 
     /**
-     * Проверяет, соответствует ли путь тестового класса регулярному выражению группы.
+     * Определяет группу для тестового класса по скомпилированным правилам групп.
      *
-     * @param group группа с регулярным выражением
-     * @param testPath путь тестового класса
-     * @return true, если путь соответствует regex группы
+     * @param testClassInfoData данные о тестовом классе
+     * @param groupMatcher      правила групп активного профиля
      */
-    private boolean matchesGroupRegex(@NotNull GroupData group, @NotNull String testPath) {
-        final var regex = group.getRegex();
-        if (regex == null || regex.trim().isEmpty()) {
-            return false;
+    private void determineGroup(@NotNull TestClassInfoData testClassInfoData, @NotNull GroupMatcher groupMatcher) {
+        log.logDebug("Determining group for test class: {}", testClassInfoData.getName());
+
+        final GroupData assigned;
+        try (var ignored = metrics.phase(PhaseMetrics.PHASE_GROUP_MATCHING)) {
+            assigned = groupMatcher.match(testClassInfoData.getPath(), metrics);
         }
-        try {
-            return Pattern.compile(regex).matcher(testPath).find();
-        } catch (PatternSyntaxException e) {
-            log.logWarn("Invalid regex pattern in group '" + group.getName() + "': " + regex);
-            return false;
+        if (assigned != null) {
+            testClassInfoData.setGroup(assigned);
+            log.logDebug("Assigned group: {} to test class: {}", assigned.getName(), testClassInfoData.getName());
+        } else {
+            log.logDebug("No matching group found. Assigned default group to test class: {}", testClassInfoData.getName());
         }
     }
 }
-
-
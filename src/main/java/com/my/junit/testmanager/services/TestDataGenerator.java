@@ -21,6 +21,7 @@ import com.intellij.psi.PsiType;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.my.junit.testmanager.config.TestGeneratorConfig;
 import com.my.junit.testmanager.utils.LoggerUtils;
+import com.my.junit.testmanager.utils.PhaseMetrics;
 import com.my.junit.testmanager.utils.PsiUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -52,6 +53,7 @@ public class TestDataGenerator {
     private static final String CLASS_CLOSE_BRACE = "}\n";
     private static final String METHOD_INDENT = "    ";
     private static final String NULL_VALUE = "null";
+    private static final String GENERATION_OPERATION = "Test data generation";
 
     private final LoggerUtils log;
     private final Map<String, PsiClass> generatedGenerators;
@@ -77,35 +79,71 @@ public class TestDataGenerator {
      * @param clazz Основной класс для генерации.
      */
     public void generateGeneratorForClass(@NotNull PsiClass clazz) {
+        final var metrics = new PhaseMetrics(GENERATION_OPERATION + ": " + clazz.getName());
+        try {
+            generateGeneratorRecursively(clazz, new HashSet<>(), metrics);
+        } finally {
+            PhaseMetricsService.getInstance(project).record(metrics);
+        }
+    }
+
+    /**
+     * Генерирует генераторы зависимостей класса, затем генератор самого класса.
+     * Каждый класс обрабатывается один раз за вызов: без этого цепочка зависимостей глубины N
+     * обходилась бы 2^N раз, так как транзитивные зависимости каждого класса обходятся заново.
+     *
+     * @param clazz     класс для генерации
+     * @param processed классы, уже обработанные в текущем вызове
+     * @param metrics   метрики текущего вызова
+     */
+    private void generateGeneratorRecursively(
+            @NotNull PsiClass clazz,
+            @NotNull Set<PsiClass> processed,
+            @NotNull PhaseMetrics metrics
+    ) {
+        if (!processed.add(clazz)) {
+            return;
+        }
+        metrics.increment(PhaseMetrics.Counter.CLASSES_INSPECTED);
         final var module = ModuleUtilCore.findModuleForPsiElement(clazz);
         if (module == null) {
-            log.logWarn("No module found for class: " + clazz.getName());
+            log.logWarn(() -> "No module found for class: " + clazz.getName());
             return;
         }
 
-        final var dependents = collectAllDependentClasses(clazz, new HashSet<>());
+        final Set<PsiClass> dependents;
+        try (var ignored = metrics.phase(PhaseMetrics.PHASE_DEPENDENCY_COLLECTION)) {
+            dependents = collectAllDependentClasses(clazz, new HashSet<>());
+        }
         for (var dep : dependents) {
-            generateGeneratorForClass(dep);
+            generateGeneratorRecursively(dep, processed, metrics);
         }
 
-        generateSingleGenerator(clazz, module);
+        generateSingleGenerator(clazz, module, metrics);
     }
 
     /**
      * Генерирует одиночный генератор для класса в модуле.
      * Включает подготовку контента, создание файла и логирование.
      */
-    private void generateSingleGenerator(@NotNull PsiClass clazz, @NotNull Module module) {
+    private void generateSingleGenerator(
+            @NotNull PsiClass clazz,
+            @NotNull Module module,
+            @NotNull PhaseMetrics metrics
+    ) {
         final var className = clazz.getName();
         final var generatorName = getGeneratorClassName(clazz);
         final var packageName = PsiUtils.extractPackageFromFqcn(requireNonNull(clazz.getQualifiedName()));
 
         if (isGeneratorAlreadyExists(packageName, generatorName, module)) {
-            log.logInfo("Generator already exists, skipping: " + generatorName);
+            log.logInfoRateLimited(() -> "Generator already exists, skipping: " + generatorName);
             return;
         }
 
-        final Set<PsiClass> classesForThisGenerator = collectClassesForGenerator(clazz);
+        final Set<PsiClass> classesForThisGenerator;
+        try (var ignored = metrics.phase(PhaseMetrics.PHASE_DEPENDENCY_COLLECTION)) {
+            classesForThisGenerator = collectClassesForGenerator(clazz);
+        }
 
         WriteCommandAction.runWriteCommandAction(project, () -> {
             try {
@@ -121,10 +159,17 @@ public class TestDataGenerator {
                     return;
                 }
 
-                final var content = prepareGeneratorContent(generatorName, classesForThisGenerator);
-                final var javaFile = createJavaFile(generatorName, packageName, content);
-                final var createdFile = addFileToDirectory(sourcePackageDir, javaFile, packageName, generatorName);
-                log.logInfo("Generated generator class: " + generatorName + " in package: " + packageName);
+                final PsiJavaFile javaFile;
+                try (var ignored = metrics.phase(PhaseMetrics.PHASE_CONTENT_GENERATION)) {
+                    final var content = prepareGeneratorContent(generatorName, classesForThisGenerator);
+                    javaFile = createJavaFile(generatorName, packageName, content);
+                }
+                final PsiJavaFile createdFile;
+                try (var ignored = metrics.phase(PhaseMetrics.PHASE_FILE_WRITE)) {
+                    createdFile = addFileToDirectory(sourcePackageDir, javaFile, packageName, generatorName);
+                }
+                metrics.increment(PhaseMetrics.Counter.RESULTS);
+                log.logInfo("Generated generator class: {} in package: {}", generatorName, packageName);
                 
                 // Обновляем индексы и рефакторинг после создания файла
                 if (createdFile != null) {
@@ -219,7 +264,7 @@ public class TestDataGenerator {
                     VfsUtil.markDirtyAndRefresh(false, false, false, virtualFile);
                     // Обновляем PSI кэш
                     PsiManager.getInstance(project).dropPsiCaches();
-                    log.logInfo("Refreshed indices for file: " + virtualFile.getPath());
+                    log.logDebug("Refreshed indices for file: {}", virtualFile);
                 }
             } catch (Exception e) {
                 log.logError("Failed to refresh file indices", e);
@@ -426,7 +471,7 @@ public class TestDataGenerator {
         final var methodText = buildMethodText(className, methodName, paramsText);
         
         builder.append(methodText);
-        log.logInfo("Added method text for: " + methodName);
+        log.logDebug("Added method text for: {}", methodName);
     }
 
     /**
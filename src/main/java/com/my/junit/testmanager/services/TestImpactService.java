@@ -0,0 +1,278 @@
+package com.my.junit.testmanager.services;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ModuleRootListener;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.psi.JavaRecursiveElementWalkingVisitor;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiJavaCodeReferenceElement;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiTreeChangeAdapter;
+import com.intellij.psi.PsiTreeChangeEvent;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.searches.ReferencesSearch;
+import com.my.junit.testmanager.utils.LoggerUtils;
+import com.my.junit.testmanager.utils.VfsEventUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Граф обратных зависимостей между Java-файлами проекта для анализа влияния изменений на тесты.
+ * <p>
+ * Зависимые файлы для каждого файла вычисляются лениво через {@link ReferencesSearch} и запоминаются.
+ * При изменении файла пересчитываются только его исходящие ссылки, и он добавляется
+ * или удаляется из уже вычисленных записей, поэтому граф не перестраивается целиком.
+ */
+@Service(Service.Level.PROJECT)
+public final class TestImpactService implements Disposable {
+    private final LoggerUtils log = LoggerUtils.getLogger(TestImpactService.class);
+
+    private final Project project;
+    /**
+     * Файл → файлы, которые ссылаются на его классы.
+     */
+    private final Map<VirtualFile, Set<VirtualFile>> dependents = new ConcurrentHashMap<>();
+    private final Set<VirtualFile> dirtyFiles = ConcurrentHashMap.newKeySet();
+
+    public TestImpactService(@NotNull Project project) {
+        this.project = project;
+
+        PsiManager.getInstance(project).addPsiTreeChangeListener(new PsiTreeChangeAdapter() {
+            @Override
+            public void childAdded(@NotNull PsiTreeChangeEvent event) {
+                markDirty(event);
+            }
+
+            @Override
+            public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+                markDirty(event);
+            }
+
+            @Override
+            public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+                markDirty(event);
+            }
+
+            @Override
+            public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+                markDirty(event);
+            }
+
+            @Override
+            public void childMoved(@NotNull PsiTreeChangeEvent event) {
+                markDirty(event);
+            }
+        }, this);
+
+        final var connection = project.getMessageBus().connect(this);
+        connection.subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void after(@NotNull List<? extends VFileEvent> events) {
+                // Для директорий помечаются вложенные Java-файлы, события вне контента проекта пропускаются
+                events.forEach(event -> VfsEventUtils.forEachAffectedJavaFile(
+                        project, event, TestImpactService.this::markDirty));
+            }
+        });
+        connection.subscribe(ModuleRootListener.TOPIC, new ModuleRootListener() {
+            @Override
+            public void rootsChanged(@NotNull ModuleRootEvent event) {
+                invalidate();
+            }
+        });
+    }
+
+    @NotNull
+    public static TestImpactService getInstance(@NotNull Project project) {
+        return project.getService(TestImpactService.class);
+    }
+
+    /**
+     * Находит тестовые файлы, которые прямо или транзитивно ссылаются на классы измененных файлов.
+     * Измененные тестовые файлы также входят в результат. Должен вызываться внутри read action.
+     * Обновление и чтение графа выполняются под одной блокировкой, поэтому параллельные запросы
+     * не видят частично обновленные записи.
+     *
+     * @param changedFiles измененные Java-файлы
+     * @return затронутые файлы тестовых исходников
+     */
+    @NotNull
+    public synchronized Set<VirtualFile> findAffectedTestFiles(@NotNull Collection<VirtualFile> changedFiles) {
+        applyDirtyFiles();
+
+        final var fileIndex = ProjectFileIndex.getInstance(project);
+        final var visited = new HashSet<VirtualFile>();
+        final var queue = new ArrayDeque<VirtualFile>();
+        final var testFiles = new HashSet<VirtualFile>();
+        for (var file : changedFiles) {
+            if (visited.add(file)) {
+                queue.add(file);
+            }
+        }
+        while (!queue.isEmpty()) {
+            ProgressManager.checkCanceled();
+            final var file = queue.poll();
+            if (fileIndex.isInTestSourceContent(file)) {
+                testFiles.add(file);
+            }
+            for (var dependent : getDependents(file)) {
+                if (visited.add(dependent)) {
+                    queue.add(dependent);
+                }
+            }
+        }
+        log.logInfo("Impact analysis: changed=" + changedFiles.size() + ", visited=" + visited.size()
+                + ", affectedTests=" + testFiles.size() + ", cached=" + dependents.size());
+        return testFiles;
+    }
+
+    /**
+     * Сбрасывает граф зависимостей.
+     */
+    public void invalidate() {
+        dependents.clear();
+        dirtyFiles.clear();
+        log.logInfo("Impact graph invalidated.");
+    }
+
+    /**
+     * Возвращает файлы, ссылающиеся на классы указанного файла, вычисляя их при первом обращении.
+     * Вызывается под блокировкой {@link #findAffectedTestFiles}.
+     *
+     * @param file Java-файл
+     * @return зависимые файлы
+     */
+    @NotNull
+    private Set<VirtualFile> getDependents(@NotNull VirtualFile file) {
+        final var cached = dependents.get(file);
+        if (cached != null) {
+            return cached;
+        }
+        final var result = ConcurrentHashMap.<VirtualFile>newKeySet();
+        if (file.isValid() && PsiManager.getInstance(project).findFile(file) instanceof PsiJavaFile javaFile) {
+            final var scope = GlobalSearchScope.projectScope(project);
+            for (var psiClass : javaFile.getClasses()) {
+                collectDependents(psiClass, scope, file, result);
+            }
+        }
+        dependents.put(file, result);
+        return result;
+    }
+
+    private void collectDependents(
+            @NotNull PsiClass psiClass,
+            @NotNull GlobalSearchScope scope,
+            @NotNull VirtualFile self,
+            @NotNull Set<VirtualFile> result
+    ) {
+        ReferencesSearch.search(psiClass, scope).forEach(reference -> {
+            final var dependent = reference.getElement().getContainingFile().getVirtualFile();
+            if (dependent != null && !dependent.equals(self)) {
+                result.add(dependent);
+            }
+            return true;
+        });
+        for (var innerClass : psiClass.getInnerClasses()) {
+            collectDependents(innerClass, scope, self, result);
+        }
+    }
+
+    /**
+     * Обновляет вычисленные записи для измененных файлов по их текущим исходящим ссылкам.
+     * Вызывается под блокировкой {@link #findAffectedTestFiles}.
+     */
+    private void applyDirtyFiles() {
+        // Файлы удаленных директорий не помечаются событиями VFS и отбрасываются здесь
+        dependents.keySet().removeIf(file -> !file.isValid());
+        dependents.values().forEach(fileDependents -> fileDependents.removeIf(file -> !file.isValid()));
+        if (dirtyFiles.isEmpty()) {
+            return;
+        }
+        final var changedFiles = List.copyOf(dirtyFiles);
+        for (var file : changedFiles) {
+            ProgressManager.checkCanceled();
+            // Классы файла могли быть переименованы — их зависимые будут вычислены заново
+            dependents.remove(file);
+            final var referenced = getReferencedFiles(file);
+            dependents.forEach((target, targetDependents) -> {
+                if (referenced.contains(target)) {
+                    targetDependents.add(file);
+                } else {
+                    targetDependents.remove(file);
+                }
+            });
+            dirtyFiles.remove(file);
+        }
+        log.logInfo("Impact graph updated for " + changedFiles.size() + " changed files.");
+    }
+
+    /**
+     * Собирает файлы проекта, на классы которых ссылается указанный файл.
+     *
+     * @param file Java-файл
+     * @return файлы, на которые есть ссылки
+     */
+    @NotNull
+    private Set<VirtualFile> getReferencedFiles(@NotNull VirtualFile file) {
+        final var referenced = new HashSet<VirtualFile>();
+        if (!file.isValid() || !(PsiManager.getInstance(project).findFile(file) instanceof PsiJavaFile javaFile)) {
+            return referenced;
+        }
+        final var fileIndex = ProjectFileIndex.getInstance(project);
+        javaFile.accept(new JavaRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitReferenceElement(@NotNull PsiJavaCodeReferenceElement reference) {
+                super.visitReferenceElement(reference);
+                if (reference.resolve() instanceof PsiClass psiClass) {
+                    final var target = getVirtualFile(psiClass);
+                    if (target != null && !target.equals(file) && fileIndex.isInContent(target)) {
+                        referenced.add(target);
+                    }
+                }
+            }
+        });
+        return referenced;
+    }
+
+    @Nullable
+    private static VirtualFile getVirtualFile(@NotNull PsiClass psiClass) {
+        final var psiFile = psiClass.getContainingFile();
+        return psiFile != null ? psiFile.getVirtualFile() : null;
+    }
+
+    private void markDirty(@NotNull PsiTreeChangeEvent event) {
+        final var psiFile = event.getFile();
+        if (psiFile != null) {
+            markDirty(psiFile.getVirtualFile());
+        }
+    }
+
+    private void markDirty(@Nullable VirtualFile file) {
+        if (file != null && !dependents.isEmpty() && JavaFileType.INSTANCE.equals(file.getFileType())) {
+            dirtyFiles.add(file);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        dependents.clear();
+        dirtyFiles.clear();
+    }
+}
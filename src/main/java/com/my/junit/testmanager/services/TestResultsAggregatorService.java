@@ -50,7 +50,7 @@ public final class TestResultsAggregatorService {
         }
     }
 
-    private List<TestResultRowData> formatForDisplay(@NotNull List<TestResultRowData> rows) {
+    static List<TestResultRowData> formatForDisplay(@NotNull List<TestResultRowData> rows) {
         final var grouped = new LinkedHashMap<String, List<TestResultRowData>>();
         rows.forEach(row -> grouped.computeIfAbsent(row.getTestClassName(), key -> new ArrayList<>()).add(row));
 
@@ -92,7 +92,7 @@ public final class TestResultsAggregatorService {
         return formatted;
     }
 
-    private String formatDuration(long millis) {
+    private static String formatDuration(long millis) {
         return message("toolwindow.results.duration.ms", millis);
     }
 
@@ -119,7 +119,7 @@ public final class TestRunEventsListenerService {
         return 0L;
     }
 
-    private static TestMethodInfo resolveTestInfo(@NotNull SMTestProxy testProxy) {
+    static TestMethodInfo resolveTestInfo(@NotNull SMTestProxy testProxy) {
         final var parent = testProxy.getParent();
         var displayClass = parent == null || parent instanceof SMTestProxy.SMRootTestProxy
                 ? testProxy.getName()
@@ -167,7 +167,7 @@ public final class TestRunEventsListenerService {
         return locationUrl;
     }
 
-    private static String stripMethodDecorators(String name) {
+    static String stripMethodDecorators(String name) {
         if (name == null) {
             return "";
         }
@@ -291,7 +291,7 @@ public final class TestRunEventsListenerService {
      * @param normalizedMethodName Нормализованное название метода
      * @param locationUrl          URL расположения метода
      */
-    private record TestMethodInfo(
+    record TestMethodInfo(
             String displayClassName,
             String qualifiedClassName,
             String displayMethodName,
@@ -0,0 +1,138 @@
+package com.my.junit.testmanager.tasks;
+
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.my.junit.testmanager.data.SearchType;
+import com.my.junit.testmanager.model.TestClassInfoTableModel;
+import com.my.junit.testmanager.services.TestClassesFinder;
+import com.my.junit.testmanager.ui.TestConfigurationsForm;
+import com.my.junit.testmanager.utils.LoggerUtils;
+import com.my.junit.testmanager.utils.NotificationUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+import static com.my.junit.testmanager.utils.MessagesBundle.message;
+
+/**
+ * Фоновая задача поиска тестовых классов с отображением результатов в {@link TestConfigurationsForm}.
+ * Поиск выполняется в non-blocking read action, которые автоматически перезапускаются при write action.
+ * Форма открывается сразу, найденные классы появляются в ней по мере обработки модулей.
+ */
+public class FindTestsTask extends Task.Backgroundable {
+    private final LoggerUtils log = LoggerUtils.getLogger(FindTestsTask.class);
+
+    private final Project project;
+    private final SearchType searchType;
+    @Nullable
+    private final VirtualFile directory;
+    @Nullable
+    private final String baseRevision;
+    private final TestConfigurationsForm form;
+    @Nullable
+    private volatile ProgressIndicator indicator;
+    private volatile boolean stopRequested;
+
+    public FindTestsTask(
+            @NotNull Project project,
+            @NotNull SearchType searchType,
+            @Nullable VirtualFile directory
+    ) {
+        this(project, searchType, directory, null);
+    }
+
+    public FindTestsTask(
+            @NotNull Project project,
+            @NotNull SearchType searchType,
+            @Nullable VirtualFile directory,
+            @Nullable String baseRevision
+    ) {
+        super(project, message("progress.title.find.tests"), true);
+        this.project = project;
+        this.searchType = searchType;
+        this.directory = directory;
+        this.baseRevision = baseRevision;
+        this.form = new TestConfigurationsForm(new TestClassInfoTableModel(List.of()), project);
+    }
+
+    /**
+     * Запускает поиск и открывает форму результатов, не дожидаясь его завершения.
+     * Должен вызываться из EDT.
+     */
+    public void queueAndShowResults() {
+        form.startStreaming(this::stop);
+        queue();
+        form.show();
+    }
+
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        this.indicator = indicator;
+        if (stopRequested) {
+            indicator.cancel();
+        }
+        indicator.setIndeterminate(false);
+        final var finder = new TestClassesFinder(project);
+        final var provisional = finder.isProvisionalSearch(searchType);
+        try {
+            final var testClasses = finder.collect(searchType, directory, baseRevision, indicator, form::appendRows);
+            log.logInfo("Test discovery finished: " + searchType + ", found=" + testClasses.size());
+        } finally {
+            form.finishStreaming(indicator.isCanceled());
+        }
+        if (provisional) {
+            NotificationUtils.showInfoNotification(message("notification.provisional.tests"));
+            DumbService.getInstance(project).smartInvokeLater(this::upgradeProvisionalResults, ModalityState.any());
+        }
+    }
+
+    /**
+     * Повторяет поиск после завершения индексации и заменяет предварительные строки в открытой форме.
+     */
+    private void upgradeProvisionalResults() {
+        if (form.isDisposed()) {
+            return;
+        }
+        final var upgradeTask = new Task.Backgroundable(project, message("progress.title.find.tests"), true) {
+            @Override
+            public void run(@NotNull ProgressIndicator upgradeIndicator) {
+                indicator = upgradeIndicator;
+                if (stopRequested) {
+                    upgradeIndicator.cancel();
+                }
+                try {
+                    final var upgraded = new TestClassesFinder(project)
+                            .collect(searchType, directory, baseRevision, upgradeIndicator);
+                    form.replaceRows(upgraded);
+                    log.logInfo("Provisional test list upgraded: found=" + upgraded.size());
+                } finally {
+                    form.finishStreaming(upgradeIndicator.isCanceled());
+                }
+            }
+        };
+        stopRequested = false;
+        form.startStreaming(this::stop);
+        upgradeTask.queue();
+    }
+
+    /**
+     * Останавливает текущий поиск по кнопке формы или при ее закрытии.
+     */
+    private void stop() {
+        stopRequested = true;
+        final var current = indicator;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    @Override
+    public void onCancel() {
+        log.logInfo("Test discovery cancelled: " + searchType);
+    }
+}
@@ -0,0 +1,66 @@
+package com.my.junit.testmanager.tasks;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.my.junit.testmanager.data.SearchType;
+import com.my.junit.testmanager.data.TestClassRelocationData;
+import com.my.junit.testmanager.model.TestClassRelocationTableModel;
+import com.my.junit.testmanager.services.RelocationAnalyzer;
+import com.my.junit.testmanager.ui.TableRelocationForm;
+import com.my.junit.testmanager.utils.LoggerUtils;
+import com.my.junit.testmanager.utils.MessagesDialogUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+import static com.my.junit.testmanager.utils.MessagesBundle.message;
+
+/**
+ * Фоновая задача анализа релокации тестовых классов с отображением результатов в {@link TableRelocationForm}.
+ * Анализ выполняется с прогрессом и возможностью отмены, модули обрабатываются параллельно
+ * в non-blocking read action; форма открывается в EDT после завершения анализа.
+ */
+public class RelocationAnalysisTask extends Task.Backgroundable {
+    private final LoggerUtils log = LoggerUtils.getLogger(RelocationAnalysisTask.class);
+
+    private final Project project;
+    private final SearchType searchType;
+    private List<TestClassRelocationData> relocations = List.of();
+
+    public RelocationAnalysisTask(
+            @NotNull Project project,
+            @NotNull SearchType searchType
+    ) {
+        super(project, message("progress.title.relocation.analysis"), true);
+        this.project = project;
+        this.searchType = searchType;
+    }
+
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        indicator.setIndeterminate(false);
+        relocations = new RelocationAnalyzer(project).analyze(searchType, indicator);
+        log.logInfo("Relocation analysis finished: " + searchType + ", found=" + relocations.size());
+    }
+
+    @Override
+    public void onSuccess() {
+        if (relocations.isEmpty()) {
+            MessagesDialogUtils.messageWarn(
+                    project,
+                    message("dialog.relocate.tests.no.tests.found")
+            );
+            return;
+        }
+        new TableRelocationForm(
+                new TestClassRelocationTableModel(relocations),
+                project
+        ).showAndGet();
+    }
+
+    @Override
+    public void onCancel() {
+        log.logInfo("Relocation analysis cancelled: " + searchType);
+    }
+}
@@ -0,0 +1,79 @@
+package com.my.junit.testmanager.tasks;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.my.junit.testmanager.data.TestClassRelocationData;
+import com.my.junit.testmanager.services.RelocationExecutor;
+import com.my.junit.testmanager.utils.LoggerUtils;
+import com.my.junit.testmanager.utils.MessagesDialogUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.my.junit.testmanager.utils.MessagesBundle.message;
+
+/**
+ * Фоновая задача пакетной релокации тестовых классов с прогрессом по целевым пакетам.
+ * План релокации строится в фоне под read action, сводка пробного запуска подтверждается
+ * пользователем в EDT, после чего выполняются рефакторинги.
+ */
+public class RelocationTask extends Task.Backgroundable {
+    private final LoggerUtils log = LoggerUtils.getLogger(RelocationTask.class);
+
+    private final Project project;
+    private final List<TestClassRelocationData> items;
+    private boolean confirmed;
+    private int moved;
+
+    public RelocationTask(
+            @NotNull Project project,
+            @NotNull List<TestClassRelocationData> items
+    ) {
+        super(project, message("progress.title.relocation"), true);
+        this.project = project;
+        this.items = items;
+    }
+
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        indicator.setText(message("progress.text.relocation.plan"));
+        final var executor = ReadAction.nonBlocking(() -> new RelocationExecutor(project, items))
+                .wrapProgress(indicator)
+                .executeSynchronously();
+        final var summary = executor.buildSummary();
+
+        final var answer = new AtomicBoolean();
+        ApplicationManager.getApplication().invokeAndWait(
+                () -> answer.set(MessagesDialogUtils.messageConfirm(project, summary)),
+                ModalityState.defaultModalityState()
+        );
+        confirmed = answer.get();
+        if (!confirmed) {
+            log.logInfo("Relocation declined by user");
+            return;
+        }
+        indicator.setText(null);
+        moved = executor.relocate(indicator);
+    }
+
+    @Override
+    public void onSuccess() {
+        if (!confirmed) {
+            return;
+        }
+        MessagesDialogUtils.messageInfo(
+                project,
+                message("dialog.relocation.completed", moved)
+        );
+    }
+
+    @Override
+    public void onCancel() {
+        log.logInfo("Relocation cancelled");
+    }
+}
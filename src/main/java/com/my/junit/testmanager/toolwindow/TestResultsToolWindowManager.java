@@ -8,12 +8,14 @@ import com.intellij.openapi.wm.ToolWindowManager;
 import com.intellij.ui.content.ContentFactory;
 import com.my.junit.testmanager.data.TestResultRowData;
 import com.my.junit.testmanager.data.TestResultsSummary;
+import com.my.junit.testmanager.ui.DiagnosticsForm;
 import com.my.junit.testmanager.ui.TestResultsToolWindowForm;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
 
 import static com.intellij.openapi.application.ApplicationManager.getApplication;
+import static com.my.junit.testmanager.utils.MessagesBundle.message;
 
 /**
  * Управляет жизненным циклом кастомного окна результатов тестов.
@@ -33,9 +35,17 @@ public final class TestResultsToolWindowManager {
             form = new TestResultsToolWindowForm(project);
         }
         final var contentFactory = ContentFactory.getInstance();
-        final var content = contentFactory.createContent(form.getPanel(), "", false);
+        final var content = contentFactory.createContent(form.getPanel(), message("toolwindow.tab.results"), false);
+        final var diagnosticsForm = new DiagnosticsForm(project);
+        final var diagnosticsContent = contentFactory.createContent(
+                diagnosticsForm.getPanel(),
+                message("toolwindow.tab.diagnostics"),
+                false
+        );
+        diagnosticsContent.setDisposer(diagnosticsForm);
         toolWindow.getContentManager().removeAllContents(true);
         toolWindow.getContentManager().addContent(content);
+        toolWindow.getContentManager().addContent(diagnosticsContent);
     }
 
     public void showResults(
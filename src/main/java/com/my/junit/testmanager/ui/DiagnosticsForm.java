@@ -0,0 +1,143 @@
+package com.my.junit.testmanager.ui;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.components.JBTextArea;
+import com.intellij.ui.table.JBTable;
+import com.my.junit.testmanager.model.PhaseMetricsTableModel;
+import com.my.junit.testmanager.services.PhaseMetricsListener;
+import com.my.junit.testmanager.services.PhaseMetricsService;
+import com.my.junit.testmanager.utils.LoggerUtils;
+import com.my.junit.testmanager.utils.MessagesDialogUtils;
+import com.my.junit.testmanager.utils.PhaseMetrics;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static com.my.junit.testmanager.utils.MessagesBundle.message;
+
+/**
+ * Вкладка диагностики tool window: замеры фаз последних операций поиска, релокации и генерации
+ * с экспортом в JSON.
+ */
+public class DiagnosticsForm implements Disposable {
+    private static final String JSON_EXTENSION = "json";
+
+    private final LoggerUtils log = LoggerUtils.getLogger(DiagnosticsForm.class);
+
+    private final Project project;
+    @Getter
+    private final JPanel panel = new JPanel(new BorderLayout());
+    private final PhaseMetricsTableModel tableModel;
+    private final JBTable table;
+    private final JBTextArea detailsArea = new JBTextArea();
+
+    public DiagnosticsForm(@NotNull Project project) {
+        this.project = project;
+        this.tableModel = new PhaseMetricsTableModel(PhaseMetricsService.getInstance(project).getRecords());
+        this.table = new JBTable(tableModel);
+        this.table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        this.table.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                showDetails();
+            }
+        });
+        this.detailsArea.setEditable(false);
+
+        final var exportButton = new JButton(message("button.diagnostics.export"));
+        exportButton.addActionListener(e -> exportJson());
+        final var clearButton = new JButton(message("button.diagnostics.clear"));
+        clearButton.addActionListener(e -> clear());
+        final var buttonsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        buttonsPanel.add(exportButton);
+        buttonsPanel.add(clearButton);
+
+        final var splitPane = new JSplitPane(
+                JSplitPane.HORIZONTAL_SPLIT,
+                ScrollPaneFactory.createScrollPane(table),
+                ScrollPaneFactory.createScrollPane(detailsArea)
+        );
+        splitPane.setResizeWeight(0.6);
+        panel.add(buttonsPanel, BorderLayout.NORTH);
+        panel.add(splitPane, BorderLayout.CENTER);
+        showDetails();
+
+        project.getMessageBus()
+                .connect(this)
+                .subscribe(PhaseMetricsListener.TOPIC, metrics -> ApplicationManager.getApplication().invokeLater(
+                        this::reload,
+                        ModalityState.any(),
+                        project.getDisposed()
+                ));
+    }
+
+    private void reload() {
+        tableModel.setItems(PhaseMetricsService.getInstance(project).getRecords());
+        if (tableModel.getRowCount() > 0) {
+            table.setRowSelectionInterval(0, 0);
+        }
+        showDetails();
+    }
+
+    private void showDetails() {
+        final var row = table.getSelectedRow();
+        if (row < 0) {
+            detailsArea.setText(message("toolwindow.diagnostics.no.selection"));
+            return;
+        }
+        final var metrics = tableModel.getItemAt(table.convertRowIndexToModel(row));
+        final var details = new StringBuilder()
+                .append(metrics.getOperation()).append('\n')
+                .append(message("toolwindow.diagnostics.elapsed", metrics.getElapsedMillis())).append("\n\n")
+                .append(message("toolwindow.diagnostics.phases")).append('\n');
+        metrics.getPhaseMillis().forEach((phase, millis) ->
+                details.append("  ").append(phase).append(": ").append(millis).append(" ms\n"));
+        details.append('\n').append(message("toolwindow.diagnostics.counters")).append('\n');
+        metrics.getCounters().forEach((counter, value) ->
+                details.append("  ").append(counter).append(": ").append(value).append('\n'));
+        detailsArea.setText(details.toString());
+        detailsArea.setCaretPosition(0);
+    }
+
+    private void exportJson() {
+        final var descriptor = new FileSaverDescriptor(
+                message("dialog.title.diagnostics.export"),
+                message("dialog.diagnostics.export.description"),
+                JSON_EXTENSION
+        );
+        final var fileWrapper = FileChooserFactory.getInstance()
+                .createSaveFileDialog(descriptor, project)
+                .save("junit-test-manager-metrics." + JSON_EXTENSION);
+        if (fileWrapper == null) {
+            return;
+        }
+        final var file = fileWrapper.getFile().toPath();
+        try {
+            Files.writeString(file, PhaseMetricsService.getInstance(project).toJson(), StandardCharsets.UTF_8);
+            log.logInfo("Diagnostics exported to " + file);
+        } catch (IOException e) {
+            log.logWarn("Failed to export diagnostics: " + file + " (" + e.getMessage() + ")");
+            MessagesDialogUtils.messageError(project, message("dialog.diagnostics.export.failed", e.getMessage()));
+        }
+    }
+
+    private void clear() {
+        PhaseMetricsService.getInstance(project).clear();
+        reload();
+    }
+
+    @Override
+    public void dispose() {
+        // Подписка на шину сообщений освобождается вместе с формой
+    }
+}
@@ -1,10 +1,12 @@
 package com.my.junit.testmanager.ui;
 
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.options.Configurable;
 import com.intellij.uiDesigner.core.GridConstraints;
 import com.intellij.uiDesigner.core.GridLayoutManager;
 import com.intellij.util.xmlb.XmlSerializerUtil;
 import com.my.junit.testmanager.config.TestManagerConfig;
+import com.my.junit.testmanager.config.TestManagerSettingsListener;
 import com.my.junit.testmanager.config.data.ProfileData;
 import com.my.junit.testmanager.data.Language;
 import com.my.junit.testmanager.model.GroupConfigTableModel;
@@ -15,19 +17,29 @@ import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static com.my.junit.testmanager.config.TestManagerConfig.MAX_DISCOVERY_PARALLELISM;
 import static com.my.junit.testmanager.utils.MessagesBundle.message;
 
 /**
  * Конфигурация настроек плагина в настройках IDE.
  */
 public class SettingsConfigurationForm implements Configurable {
+    private static final String NAMING_CONVENTIONS_SEPARATOR = ", ";
+
     private JPanel panel;
     private JLabel languageLabel;
     private JComboBox<String> languageCombo;
     private JCheckBox loggingCheckBox;
+    private JLabel parallelismLabel;
+    private JSpinner parallelismSpinner;
+    private JLabel namingConventionsLabel;
+    private JTextField namingConventionsField;
     private JLabel activeProfileLabel;
     private JComboBox<String> profilesComboBox;
     private JButton addProfileButton;
@@ -57,6 +69,12 @@ public class SettingsConfigurationForm implements Configurable {
         this.loggingCheckBox.setText(message("settings.label.logger"));
         this.loggingCheckBox.setToolTipText(message("settings.label.logger.tooltip"));
 
+        this.parallelismLabel.setText(message("settings.label.discovery.parallelism"));
+        this.parallelismLabel.setToolTipText(message("settings.label.discovery.parallelism.tooltip"));
+
+        this.namingConventionsLabel.setText(message("settings.label.test.naming.conventions"));
+        this.namingConventionsLabel.setToolTipText(message("settings.label.test.naming.conventions.tooltip"));
+
         this.activeProfileLabel.setText(message("settings.label.active.profile"));
         this.addProfileButton.setText(message("button.add"));
         this.editProfileButton.setText(message("button.edit"));
@@ -87,6 +105,10 @@ public class SettingsConfigurationForm implements Configurable {
     public void apply() {
         final var settings = getSettings();
         XmlSerializerUtil.copyBean(settings, this.currentSettings);
+        ApplicationManager.getApplication()
+                .getMessageBus()
+                .syncPublisher(TestManagerSettingsListener.TOPIC)
+                .settingsChanged(this.currentSettings);
         log.logInfo("Settings applied: " + this.currentSettings);
     }
 
@@ -231,6 +253,15 @@ public class SettingsConfigurationForm implements Configurable {
         );
         this.profilesComboBox.setSelectedItem(currentSettings.getActiveProfile().getName());
         this.loggingCheckBox.setSelected(currentSettings.isLoggingEnabled());
+        this.parallelismSpinner.setModel(new SpinnerNumberModel(
+                Math.max(1, Math.min(currentSettings.getDiscoveryParallelism(), MAX_DISCOVERY_PARALLELISM)),
+                1,
+                MAX_DISCOVERY_PARALLELISM,
+                1
+        ));
+        this.namingConventionsField.setText(
+                String.join(NAMING_CONVENTIONS_SEPARATOR, currentSettings.getTestNamingConventions())
+        );
         this.groupConfigTableModel = new GroupConfigTableModel(currentSettings.getGroups());
         this.groupsTable.setModel(groupConfigTableModel);
 
@@ -250,6 +281,8 @@ public class SettingsConfigurationForm implements Configurable {
 
         settings.setLanguageName(language.getDisplayName());
         settings.setLoggingEnabled(this.loggingCheckBox.isSelected());
+        settings.setDiscoveryParallelism((Integer) this.parallelismSpinner.getValue());
+        settings.setTestNamingConventions(parseNamingConventions(this.namingConventionsField.getText()));
         settings.setGroups(this.groupConfigTableModel.getItems());
         settings.setProfiles(profiles);
         settings.setActiveProfile(
@@ -261,6 +294,24 @@ public class SettingsConfigurationForm implements Configurable {
         return settings;
     }
 
+    /**
+     * Разбирает соглашения об именовании, введенные через запятую.
+     *
+     * @param text текст поля
+     * @return непустые шаблоны в порядке ввода
+     */
+    @NotNull
+    private List<String> parseNamingConventions(@Nullable String text) {
+        if (text == null) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream(text.split(","))
+                .map(String::trim)
+                .filter(convention -> !convention.isEmpty())
+                .distinct()
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
     {
 // GUI initializer generated by IntelliJ IDEA GUI Designer
 // >>> IMPORTANT!! <<<
@@ -300,6 +351,17 @@ public class SettingsConfigurationForm implements Configurable {
         loggingCheckBox = new JCheckBox();
         loggingCheckBox.setText("CheckBox");
         panel2.add(loggingCheckBox);
+        parallelismLabel = new JLabel();
+        parallelismLabel.setText("Parallelism");
+        panel2.add(parallelismLabel);
+        parallelismSpinner = new JSpinner();
+        panel2.add(parallelismSpinner);
+        namingConventionsLabel = new JLabel();
+        namingConventionsLabel.setText("Test naming");
+        panel2.add(namingConventionsLabel);
+        namingConventionsField = new JTextField();
+        namingConventionsField.setColumns(30);
+        panel2.add(namingConventionsField);
         final JPanel panel3 = new JPanel();
         panel3.setLayout(new GridLayoutManager(1, 5, new Insets(0, 0, 0, 0), -1, -1));
         panel.add(panel3, new GridConstraints(1, 0, 1, 1, GridConstraints.ANCHOR_NORTH, GridConstraints.FILL_NONE,
@@ -4,10 +4,10 @@ import com.intellij.openapi.project.Project;
 import com.my.junit.testmanager.data.TestClassRelocationData;
 import com.my.junit.testmanager.model.TestClassRelocationTableModel;
 import com.my.junit.testmanager.render.CheckboxRenderer;
+import com.my.junit.testmanager.tasks.RelocationTask;
 import com.my.junit.testmanager.utils.LoggerUtils;
 import com.my.junit.testmanager.utils.MessagesBundle;
 import com.my.junit.testmanager.utils.MessagesDialogUtils;
-import com.my.junit.testmanager.utils.PsiUtils;
 import org.jetbrains.annotations.NotNull;
 
 import javax.swing.*;
@@ -88,20 +88,8 @@ public class TableRelocationForm extends AbstractTableForm<TestClassRelocationTa
             return;
         }
         log.logInfo("User selected " + selected.size() + " tests for relocation.");
-        for (var item : selected) {
-            log.logInfo("Selected item: " + item);
-            PsiUtils.movePsiClass(
-                    project,
-                    item.getPsiClass(),
-                    item.getNewPath()
-            );
-        }
-        log.logInfo("Relocation complete. Total tests moved");
-        MessagesDialogUtils.messageInfo(
-                project,
-                message("dialog.relocation.completed", selected.size())
-        );
         super.doOKAction();
+        new RelocationTask(project, selected).queue();
     }
 
     private void initCheckBox() {
@@ -144,8 +132,10 @@ public class TableRelocationForm extends AbstractTableForm<TestClassRelocationTa
                     int column = table.columnAtPoint(e.getPoint());
                     if (row >= 0 && column == 1) {
                         int modelRow = table.convertRowIndexToModel(row);
-                        final var item = tableModel.getItems().get(modelRow);
-                        openPsiClassForEditor(project, item.getPsiClass());
+                        final var psiClass = tableModel.getItems().get(modelRow).getPsiClass();
+                        if (psiClass != null) {
+                            openPsiClassForEditor(project, psiClass);
+                        }
                     }
                 }
             }
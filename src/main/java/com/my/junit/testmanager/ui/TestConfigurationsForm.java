@@ -1,28 +1,51 @@
 package com.my.junit.testmanager.ui;
 
 import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiClass;
 import com.my.junit.testmanager.config.data.GroupData;
 import com.my.junit.testmanager.data.TestClassInfoData;
 import com.my.junit.testmanager.model.TestClassInfoTableModel;
 import com.my.junit.testmanager.render.GroupTableCellRenderer;
-import com.my.junit.testmanager.utils.JunitTestConfigurationUtils;
+import com.my.junit.testmanager.render.TestMethodCountsCellRenderer;
+import com.my.junit.testmanager.services.JunitConfigurationBuilderService;
 import com.my.junit.testmanager.utils.LoggerUtils;
 import com.my.junit.testmanager.utils.MessagesDialogUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
+import java.awt.*;
 import java.util.ArrayList;
-import java.util.stream.Collectors;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.my.junit.testmanager.utils.MessagesBundle.message;
 
 /**
  * Форма таблицы для генерации конфигураций тестов.
+ * <p>
+ * Может открываться до завершения поиска: найденные классы передаются из фоновых потоков
+ * через {@link #appendRows(List)}, накапливаются в очереди и добавляются в таблицу
+ * пачками по таймеру, чтобы не перерисовывать таблицу на каждую строку.
  */
 public class TestConfigurationsForm extends AbstractTableForm<TestClassInfoTableModel> {
+    private static final int ROWS_FLUSH_DELAY_MS = 100;
+
     private final LoggerUtils log = LoggerUtils.getLogger(TestConfigurationsForm.class);
 
     private final Project project;
+    private final ConcurrentLinkedQueue<TestClassInfoData> pendingRows = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<List<TestClassInfoData>> pendingReplacement = new AtomicReference<>();
+    private final Timer rowsTimer = new Timer(ROWS_FLUSH_DELAY_MS, e -> flushPendingRows());
+    private volatile boolean searchRunning;
+    private volatile boolean searchCancelled;
+    private Runnable stopAction;
+    // Создаются в createNorthPanel() при вызове init() из конструктора родителя, поэтому без инициализаторов
+    private JLabel labelFoundTests;
+    private JButton buttonStop;
 
     public TestConfigurationsForm(
             @NotNull TestClassInfoTableModel model,
@@ -43,6 +66,118 @@ public class TestConfigurationsForm extends AbstractTableForm<TestClassInfoTable
         // No specific form initialization needed
     }
 
+    @Override
+    @Nullable
+    protected JComponent createNorthPanel() {
+        labelFoundTests = new JLabel();
+        buttonStop = new JButton(message("button.stop"));
+        buttonStop.setVisible(false);
+        buttonStop.addActionListener(e -> stopSearch());
+
+        final var northPanel = new JPanel(new BorderLayout());
+        northPanel.add(labelFoundTests, BorderLayout.WEST);
+        northPanel.add(buttonStop, BorderLayout.EAST);
+        updateFoundTestsLabel();
+        return northPanel;
+    }
+
+    /**
+     * Переводит форму в режим получения результатов: показывает кнопку остановки
+     * и запускает периодическое добавление накопленных строк в таблицу.
+     * Вызывается из EDT до открытия формы.
+     *
+     * @param stopAction действие остановки поиска (отмена индикатора фоновой задачи)
+     */
+    public void startStreaming(@NotNull Runnable stopAction) {
+        this.stopAction = stopAction;
+        this.searchRunning = true;
+        this.searchCancelled = false;
+        buttonStop.setVisible(true);
+        buttonStop.setEnabled(true);
+        updateFoundTestsLabel();
+        rowsTimer.start();
+    }
+
+    /**
+     * Добавляет найденные классы в очередь на отображение. Может вызываться из любого потока.
+     *
+     * @param testClasses найденные тестовые классы
+     */
+    public void appendRows(@NotNull List<TestClassInfoData> testClasses) {
+        pendingRows.addAll(testClasses);
+    }
+
+    /**
+     * Заменяет все строки таблицы новым результатом поиска. Может вызываться из любого потока.
+     *
+     * @param testClasses новый полный список тестовых классов
+     */
+    public void replaceRows(@NotNull List<TestClassInfoData> testClasses) {
+        pendingReplacement.set(List.copyOf(testClasses));
+    }
+
+    /**
+     * Отмечает завершение поиска. Может вызываться из любого потока; оставшиеся строки
+     * будут добавлены при следующем срабатывании таймера.
+     *
+     * @param cancelled true, если поиск был остановлен
+     */
+    public void finishStreaming(boolean cancelled) {
+        this.searchCancelled = cancelled;
+        this.searchRunning = false;
+    }
+
+    private void stopSearch() {
+        buttonStop.setEnabled(false);
+        if (stopAction != null) {
+            stopAction.run();
+        }
+    }
+
+    /**
+     * Переносит накопленные строки в модель одной вставкой и обновляет счетчик.
+     */
+    private void flushPendingRows() {
+        final var replacement = pendingReplacement.getAndSet(null);
+        if (replacement != null) {
+            pendingRows.clear();
+            tableModel.setItems(replacement);
+        }
+        final var batch = new ArrayList<TestClassInfoData>();
+        TestClassInfoData item;
+        while ((item = pendingRows.poll()) != null) {
+            batch.add(item);
+        }
+        tableModel.addRows(batch);
+
+        if (!searchRunning && pendingRows.isEmpty() && pendingReplacement.get() == null) {
+            rowsTimer.stop();
+            buttonStop.setVisible(false);
+            log.logInfo("Streaming finished: rows=" + tableModel.getRowCount() + ", cancelled=" + searchCancelled);
+        }
+        updateFoundTestsLabel();
+    }
+
+    private void updateFoundTestsLabel() {
+        final var count = tableModel.getRowCount();
+        if (searchRunning) {
+            labelFoundTests.setText(message("label.found.tests.running", count));
+        } else if (searchCancelled) {
+            labelFoundTests.setText(message("label.found.tests.stopped", count));
+        } else {
+            labelFoundTests.setText(message("label.found.tests", count));
+        }
+    }
+
+    @Override
+    protected void dispose() {
+        rowsTimer.stop();
+        if (searchRunning && stopAction != null) {
+            stopAction.run();
+        }
+        super.dispose();
+    }
+
     @Override
     protected void initTable() {
         table.getColumnModel()
@@ -57,6 +192,12 @@ public class TestConfigurationsForm extends AbstractTableForm<TestClassInfoTable
             }
             return 0;
         });
+        sorter.setComparator(3, Comparator.naturalOrder());
+        table.getColumnModel()
+                .getColumn(3)
+                .setCellRenderer(
+                        new TestMethodCountsCellRenderer()
+                );
     }
 
     @Override
@@ -90,28 +231,20 @@ public class TestConfigurationsForm extends AbstractTableForm<TestClassInfoTable
                 }
             }
         }
-        for (var entry : selectedTests.stream()
-                .collect(
-                        Collectors.groupingBy(
-                                TestClassInfoData::getGroup,
-                                Collectors.toList()
-                        )
-                ).entrySet()
-        ) {
-            JunitTestConfigurationUtils.createJunitConfigurationTest(
+        final var classesByGroup = new LinkedHashMap<GroupData, List<PsiClass>>();
+        for (var testClass : selectedTests) {
+            final var psiClass = testClass.getPsiClass();
+            if (psiClass != null) {
+                classesByGroup.computeIfAbsent(testClass.getGroup(), key -> new ArrayList<>()).add(psiClass);
+            }
+        }
+        final var result = JunitConfigurationBuilderService.getInstance().createConfigurations(project, classesByGroup);
+        if (result.created() > 0) {
+            MessagesDialogUtils.messageInfo(
                     project,
-                    entry.getValue()
-                            .stream()
-                            .map(TestClassInfoData::getPsiClass)
-                            .toList(),
-                    entry.getKey()
+                    message("dialog.test.configurations.generated", result.created(), result.elapsedMillis())
             );
         }
-
-        MessagesDialogUtils.messageInfo(
-                project,
-                message("dialog.test.configurations.generated")
-        );
         super.doOKAction();
     }
 }
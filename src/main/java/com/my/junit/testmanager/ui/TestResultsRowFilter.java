@@ -0,0 +1,95 @@
+package com.my.junit.testmanager.ui;
+
+import com.my.junit.testmanager.data.TestResultRowData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Фильтр строк таблицы результатов по статусу, регрессиям и показу итогов.
+ * Хранит снимок состояния флажков формы, поэтому не зависит от Swing-компонентов.
+ */
+final class TestResultsRowFilter {
+    private final boolean showTotals;
+    private final boolean regressionsOnly;
+    private final boolean successAllowed;
+    private final boolean warningAllowed;
+    private final boolean failedAllowed;
+    private final boolean ignoredAllowed;
+
+    TestResultsRowFilter(
+            boolean showTotals,
+            boolean regressionsOnly,
+            boolean successAllowed,
+            boolean warningAllowed,
+            boolean failedAllowed,
+            boolean ignoredAllowed
+    ) {
+        this.showTotals = showTotals;
+        this.regressionsOnly = regressionsOnly;
+        this.successAllowed = successAllowed;
+        this.warningAllowed = warningAllowed;
+        this.failedAllowed = failedAllowed;
+        this.ignoredAllowed = ignoredAllowed;
+    }
+
+    /**
+     * Проверяет, должна ли строка отображаться.
+     *
+     * @param row  строка таблицы
+     * @param rows все строки таблицы (для итоговых строк)
+     * @return true, если строка видима
+     */
+    boolean include(@NotNull TestResultRowData row, @NotNull List<TestResultRowData> rows) {
+        if (row.isSummaryRow()) {
+            // Итоговые строки всегда скрываем, если отключен показ итогов
+            if (!showTotals) {
+                return false;
+            }
+
+            // Показываем итог только для тех классов, у которых есть хотя бы одна видимая строка
+            final var className = row.getTestClassName();
+            if (className == null || className.isBlank()) {
+                return false;
+            }
+
+            return rows.stream()
+                    .filter(r -> !r.isSummaryRow())
+                    .filter(r -> className.equals(r.getTestClassName()))
+                    .anyMatch(this::isRowVisible);
+        }
+        return isRowVisible(row);
+    }
+
+    private boolean isRowVisible(@NotNull TestResultRowData row) {
+        if (!isStatusAllowed(row.getCurrentResult())) {
+            return false;
+        }
+        if (regressionsOnly) {
+            final var previous = row.getPreviousResult();
+            return previous != null && !previous.equals(row.getCurrentResult());
+        }
+        return true;
+    }
+
+    boolean isStatusAllowed(@Nullable String status) {
+        if (status == null) {
+            return true;
+        }
+        final var normalized = status.toLowerCase();
+        if (normalized.contains("успех") || normalized.contains("success")) {
+            return successAllowed;
+        }
+        if (normalized.contains("внимание") || normalized.contains("warning")) {
+            return warningAllowed;
+        }
+        if (normalized.contains("ошибка") || normalized.contains("failed") || normalized.contains("error")) {
+            return failedAllowed;
+        }
+        if (normalized.contains("пропущ") || normalized.contains("ignored")) {
+            return ignoredAllowed;
+        }
+        return true;
+    }
+}
@@ -177,68 +177,24 @@ public class TestResultsToolWindowForm {
     }
 
     private void applyFilter() {
+        final var filter = new TestResultsRowFilter(
+                showTotalsCheckBox == null || showTotalsCheckBox.isSelected(),
+                regressionsOnlyCheckBox.isSelected(),
+                successCheckBox.isSelected(),
+                warningCheckBox.isSelected(),
+                failedCheckBox.isSelected(),
+                ignoredCheckBox.isSelected()
+        );
+        // Снимок строк: фильтр переустанавливается при каждой замене строк в setResults
+        final var rows = tableModel.getItems();
         sorter.setRowFilter(new RowFilter<>() {
             @Override
             public boolean include(Entry<? extends TestResultsTableModel, ? extends Integer> entry) {
-                final var row = tableModel.getItemAt(entry.getIdentifier());
-                if (row.isSummaryRow()) {
-                    // Итоговые строки всегда скрываем, если отключен показ итогов
-                    if (showTotalsCheckBox != null && !showTotalsCheckBox.isSelected()) {
-                        return false;
-                    }
-
-                    // Показываем итог только для тех классов, у которых есть хотя бы одна видимая строка
-                    final var className = row.getTestClassName();
-                    if (className == null || className.isBlank()) {
-                        return false;
-                    }
-
-                    return tableModel.getItems().stream()
-                            .filter(r -> !r.isSummaryRow())
-                            .filter(r -> className.equals(r.getTestClassName()))
-                            .anyMatch(r -> {
-                                if (!isStatusAllowed(r.getCurrentResult())) {
-                                    return false;
-                                }
-                                if (regressionsOnlyCheckBox.isSelected()) {
-                                    final var previous = r.getPreviousResult();
-                                    return previous != null && !previous.equals(r.getCurrentResult());
-                                }
-                                return true;
-                            });
-                }
-                if (!isStatusAllowed(row.getCurrentResult())) {
-                    return false;
-                }
-                if (regressionsOnlyCheckBox.isSelected()) {
-                    final var previous = row.getPreviousResult();
-                    return previous != null && !previous.equals(row.getCurrentResult());
-                }
-                return true;
+                return filter.include(rows.get(entry.getIdentifier()), rows);
             }
         });
     }
 
-    private boolean isStatusAllowed(String status) {
-        if (status == null) {
-            return true;
-        }
-        final var normalized = status.toLowerCase();
-        if (normalized.contains("успех") || normalized.contains("success")) {
-            return successCheckBox.isSelected();
-        }
-        if (normalized.contains("внимание") || normalized.contains("warning")) {
-            return warningCheckBox.isSelected();
-        }
-        if (normalized.contains("ошибка") || normalized.contains("failed") || normalized.contains("error")) {
-            return failedCheckBox.isSelected();
-        }
-        if (normalized.contains("пропущ") || normalized.contains("ignored")) {
-            return ignoredCheckBox.isSelected();
-        }
-        return true;
-    }
-
     private void initStatusFilters() {
         successCheckBox = new JCheckBox(message("toolwindow.results.filter.success"), true);
         warningCheckBox = new JCheckBox(message("toolwindow.results.filter.warning"), true);
@@ -0,0 +1,169 @@
+package com.my.junit.testmanager.utils;
+
+import com.intellij.openapi.progress.ProgressManager;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Утилитарный класс для определения тестовых классов по скомпилированному байткоду.
+ * Используется, пока IDE индексирует проект: читает только пул констант .class файлов
+ * (через memory-mapped NIO) и не требует ни PSI, ни индексов.
+ * <p>
+ * Класс считается тестовым, если его имя заканчивается на "Test", он наследуется от
+ * junit.framework.TestCase или ссылается на тестовую аннотацию JUnit/TestNG.
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class ClassFileTestScanner {
+    private static final LoggerUtils log = LoggerUtils.getLogger(ClassFileTestScanner.class);
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final String CLASS_EXTENSION = ".class";
+    private static final String TEST_MARKER = "Test";
+    private static final String TEST_CASE_INTERNAL_NAME = "junit/framework/TestCase";
+    private static final String[] TEST_ANNOTATION_PACKAGES = {"Lorg/junit/", "Lorg/testng/"};
+
+    /**
+     * Находит тестовые классы в директории скомпилированных тестов.
+     * Вложенные классы относятся к своему классу верхнего уровня.
+     *
+     * @param outputDirectory директория с .class файлами
+     * @return полные имена тестовых классов верхнего уровня
+     */
+    @NotNull
+    public static Set<String> scanOutputDirectory(@NotNull Path outputDirectory) {
+        final var testClasses = new HashSet<String>();
+        if (!Files.isDirectory(outputDirectory)) {
+            return testClasses;
+        }
+        try (Stream<Path> files = Files.walk(outputDirectory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(CLASS_EXTENSION))
+                    .forEach(file -> {
+                        ProgressManager.checkCanceled();
+                        final var className = readTestClassName(file);
+                        if (className != null) {
+                            testClasses.add(toTopLevelName(className));
+                        }
+                    });
+        } catch (IOException e) {
+            log.logWarn("Failed to scan test output directory: " + outputDirectory + " (" + e.getMessage() + ")");
+        }
+        return testClasses;
+    }
+
+    /**
+     * Читает .class файл и возвращает имя класса, если класс является тестовым.
+     *
+     * @param classFile путь к .class файлу
+     * @return полное имя класса (вложенные через '$') или null, если класс не тестовый или файл поврежден
+     */
+    @Nullable
+    public static String readTestClassName(@NotNull Path classFile) {
+        try {
+            // Class-файлы тестов малы: чтение целиком дешевле отображения в память и не удерживает
+            // файл открытым до сборки мусора (на Windows такой файл нельзя удалить при пересборке)
+            return parseTestClassName(ByteBuffer.wrap(Files.readAllBytes(classFile)));
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            log.logWarn("Failed to read class file: " + classFile + " (" + e.getMessage() + ")");
+            return null;
+        }
+    }
+
+    /**
+     * Разбирает заголовок и пул констант class-файла.
+     */
+    @Nullable
+    private static String parseTestClassName(@NotNull ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC) {
+            return null;
+        }
+        // minor_version, major_version
+        buffer.position(buffer.position() + 4);
+
+        final var count = Short.toUnsignedInt(buffer.getShort());
+        final var utf8 = new String[count];
+        final var classNameIndexes = new int[count];
+        for (int i = 1; i < count; i++) {
+            final var tag = Byte.toUnsignedInt(buffer.get());
+            switch (tag) {
+                case 1 -> {
+                    final var bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+                    buffer.get(bytes);
+                    utf8[i] = new String(bytes, StandardCharsets.UTF_8);
+                }
+                case 7 -> classNameIndexes[i] = Short.toUnsignedInt(buffer.getShort());
+                case 8, 16, 19, 20 -> skip(buffer, 2);
+                case 15 -> skip(buffer, 3);
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> skip(buffer, 4);
+                case 5, 6 -> {
+                    // long и double занимают две ячейки пула
+                    skip(buffer, 8);
+                    i++;
+                }
+                default -> {
+                    return null;
+                }
+            }
+        }
+
+        // access_flags
+        skip(buffer, 2);
+        final var thisName = utf8[classNameIndexes[Short.toUnsignedInt(buffer.getShort())]];
+        final var superIndex = Short.toUnsignedInt(buffer.getShort());
+        final var superName = superIndex != 0 ? utf8[classNameIndexes[superIndex]] : null;
+        if (thisName == null) {
+            return null;
+        }
+
+        final var className = thisName.replace('/', '.');
+        if (getSimpleName(className).endsWith(TEST_MARKER)
+                || TEST_CASE_INTERNAL_NAME.equals(superName)
+                || hasTestAnnotationDescriptor(utf8)) {
+            return className;
+        }
+        return null;
+    }
+
+    /**
+     * Проверяет, есть ли в пуле констант дескриптор тестовой аннотации JUnit или TestNG.
+     */
+    private static boolean hasTestAnnotationDescriptor(@NotNull String[] utf8) {
+        for (var value : utf8) {
+            if (value == null || !value.endsWith(";")) {
+                continue;
+            }
+            for (var annotationPackage : TEST_ANNOTATION_PACKAGES) {
+                if (value.startsWith(annotationPackage)
+                        && value.substring(value.lastIndexOf('/') + 1).contains(TEST_MARKER)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void skip(@NotNull ByteBuffer buffer, int bytes) {
+        buffer.position(buffer.position() + bytes);
+    }
+
+    @NotNull
+    private static String getSimpleName(@NotNull String className) {
+        final var start = Math.max(className.lastIndexOf('.'), className.lastIndexOf('$')) + 1;
+        return className.substring(start);
+    }
+
+    @NotNull
+    private static String toTopLevelName(@NotNull String className) {
+        final var nestedStart = className.indexOf('$');
+        return nestedStart >= 0 ? className.substring(0, nestedStart) : className;
+    }
+}
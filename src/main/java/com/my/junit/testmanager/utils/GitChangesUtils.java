@@ -0,0 +1,163 @@
+package com.my.junit.testmanager.utils;
+
+import lombok.NoArgsConstructor;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.revwalk.filter.RevFilter;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.treewalk.filter.PathSuffixFilter;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.eclipse.jgit.util.io.DisabledOutputStream;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static com.my.junit.testmanager.utils.MessagesBundle.message;
+
+/**
+ * Утилитарный класс для получения измененных файлов из истории Git через JGit.
+ * Деревья коммитов сравниваются напрямую, без обращения к VCS-подсистеме IDE и без построения PSI.
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class GitChangesUtils {
+    private static final LoggerUtils log = LoggerUtils.getLogger(GitChangesUtils.class);
+
+    /**
+     * Получение файлов, измененных в HEAD относительно ветки или коммита.
+     * Для ветки сравнение выполняется от merge-base с HEAD, для коммита — от самого коммита.
+     * Сравниваются только пути внутри указанных корней с указанным расширением; удаленные файлы не возвращаются.
+     *
+     * @param roots        корни исходников (могут находиться в разных репозиториях).
+     * @param baseRevision имя ветки или хэш коммита.
+     * @param extension    расширение файлов (например, ".java").
+     * @return абсолютные пути измененных файлов.
+     * @throws IOException              при ошибке чтения репозитория.
+     * @throws IllegalArgumentException если ветка или коммит не найдены.
+     */
+    @NotNull
+    public static List<Path> getChangedFiles(
+            @NotNull Collection<Path> roots,
+            @NotNull String baseRevision,
+            @NotNull String extension
+    ) throws IOException {
+        final var rootsByGitDir = new LinkedHashMap<File, List<Path>>();
+        for (var root : roots) {
+            final var gitDir = new FileRepositoryBuilder().findGitDir(root.toFile()).getGitDir();
+            if (gitDir == null) {
+                log.logInfo("Source root is not under Git: " + root);
+                continue;
+            }
+            rootsByGitDir.computeIfAbsent(gitDir, key -> new ArrayList<>()).add(root);
+        }
+
+        final var changedFiles = new ArrayList<Path>();
+        for (var entry : rootsByGitDir.entrySet()) {
+            try (var repository = new FileRepositoryBuilder().setGitDir(entry.getKey()).readEnvironment().build()) {
+                changedFiles.addAll(getChangedFiles(repository, entry.getValue(), baseRevision, extension));
+            }
+        }
+        return changedFiles;
+    }
+
+    /**
+     * Получение измененных файлов в одном репозитории.
+     */
+    @NotNull
+    private static List<Path> getChangedFiles(
+            @NotNull Repository repository,
+            @NotNull List<Path> roots,
+            @NotNull String baseRevision,
+            @NotNull String extension
+    ) throws IOException {
+        final var workTree = repository.getWorkTree().toPath();
+        final var headId = repository.resolve(Constants.HEAD);
+        if (headId == null) {
+            log.logInfo("Repository has no HEAD commit: " + workTree);
+            return List.of();
+        }
+
+        try (var revWalk = new RevWalk(repository);
+             var formatter = new DiffFormatter(DisabledOutputStream.INSTANCE)) {
+            final var head = revWalk.parseCommit(headId);
+            final var base = resolveBase(repository, revWalk, head, baseRevision);
+            log.logInfo("Diffing " + workTree + ": " + base.getName() + ".." + head.getName());
+
+            formatter.setRepository(repository);
+            formatter.setDetectRenames(false);
+            formatter.setPathFilter(createPathFilter(workTree, roots, extension));
+
+            final var changedFiles = new ArrayList<Path>();
+            for (var diff : formatter.scan(base.getTree(), head.getTree())) {
+                if (diff.getChangeType() != DiffEntry.ChangeType.DELETE) {
+                    changedFiles.add(workTree.resolve(diff.getNewPath()));
+                }
+            }
+            return changedFiles;
+        }
+    }
+
+    /**
+     * Определяет коммит, от которого считаются изменения.
+     *
+     * @return merge-base с HEAD для ветки или сам коммит
+     */
+    @NotNull
+    private static RevCommit resolveBase(
+            @NotNull Repository repository,
+            @NotNull RevWalk revWalk,
+            @NotNull RevCommit head,
+            @NotNull String baseRevision
+    ) throws IOException {
+        final var baseId = repository.resolve(baseRevision + "^{commit}");
+        if (baseId == null) {
+            throw new IllegalArgumentException(message("dialog.base.revision.not.found", baseRevision));
+        }
+        final var base = revWalk.parseCommit(baseId);
+        if (repository.findRef(baseRevision) == null) {
+            return base;
+        }
+
+        revWalk.reset();
+        revWalk.setRevFilter(RevFilter.MERGE_BASE);
+        revWalk.markStart(head);
+        revWalk.markStart(base);
+        final var mergeBase = revWalk.next();
+        revWalk.reset();
+        revWalk.setRevFilter(RevFilter.ALL);
+        return mergeBase != null ? mergeBase : base;
+    }
+
+    /**
+     * Создает фильтр путей: расширение файла и префиксы корней относительно рабочей директории.
+     */
+    @NotNull
+    private static TreeFilter createPathFilter(
+            @NotNull Path workTree,
+            @NotNull List<Path> roots,
+            @NotNull String extension
+    ) {
+        final var suffixFilter = PathSuffixFilter.create(extension);
+        final var prefixes = new ArrayList<String>();
+        for (var root : roots) {
+            final var prefix = workTree.relativize(root).toString().replace(File.separatorChar, '/');
+            if (prefix.isEmpty()) {
+                // Корень совпадает с рабочей директорией — ограничение по префиксу не нужно
+                return suffixFilter;
+            }
+            prefixes.add(prefix);
+        }
+        return AndTreeFilter.create(PathFilterGroup.createFromStrings(prefixes), suffixFilter);
+    }
+}
@@ -0,0 +1,208 @@
+package com.my.junit.testmanager.utils;
+
+import com.my.junit.testmanager.config.TestManagerConfig;
+import com.my.junit.testmanager.config.data.GroupData;
+import com.my.junit.testmanager.config.data.ProfileData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Неизменяемый снимок правил назначения групп тестовым классам.
+ * Регулярные выражения групп активного профиля компилируются один раз. Простые шаблоны вида
+ * {@code com.foo.bar.*} или {@code ^com\.foo\.Bar} (литералы, {@code .} и {@code \.}, завершающее {@code .*})
+ * собираются в префиксное дерево, которое проверяет все такие группы за один проход по пути класса;
+ * остальные выражения проверяются через {@link Pattern}.
+ * <p>
+ * Семантика совпадает с последовательной проверкой {@code Pattern.compile(regex).matcher(path).find()}:
+ * побеждает первая подходящая группа в порядке настроек.
+ */
+public final class GroupMatcher {
+    private static final LoggerUtils log = LoggerUtils.getLogger(GroupMatcher.class);
+    private static final char WILDCARD = '\0';
+
+    private final List<GroupData> groups;
+    private final Node anchoredRoot = new Node();
+    private final Node unanchoredRoot = new Node();
+    private final int[] regexGroupIndexes;
+    private final Pattern[] patterns;
+
+    private GroupMatcher(@NotNull List<GroupData> groups) {
+        this.groups = List.copyOf(groups);
+
+        final var regexIndexes = new ArrayList<Integer>();
+        final var compiled = new ArrayList<Pattern>();
+        for (int i = 0; i < this.groups.size(); i++) {
+            final var group = this.groups.get(i);
+            final var regex = group.getRegex();
+            if (regex == null || regex.trim().isEmpty()) {
+                continue;
+            }
+            if (addSimplePattern(regex, i)) {
+                continue;
+            }
+            try {
+                compiled.add(Pattern.compile(regex));
+                regexIndexes.add(i);
+            } catch (PatternSyntaxException e) {
+                log.logWarn("Invalid regex pattern in group '" + group.getName() + "': " + regex);
+            }
+        }
+        this.regexGroupIndexes = regexIndexes.stream().mapToInt(Integer::intValue).toArray();
+        this.patterns = compiled.toArray(Pattern[]::new);
+    }
+
+    /**
+     * Компилирует правила групп активного профиля из настроек.
+     *
+     * @param settings настройки плагина
+     * @return снимок правил
+     */
+    @NotNull
+    public static GroupMatcher compile(@NotNull TestManagerConfig settings) {
+        return compile(settings.getGroups(), settings.getActiveProfile());
+    }
+
+    /**
+     * Компилирует правила групп, относящихся к указанному профилю, с сохранением порядка.
+     *
+     * @param groups        все группы
+     * @param activeProfile активный профиль
+     * @return снимок правил
+     */
+    @NotNull
+    public static GroupMatcher compile(@NotNull List<GroupData> groups, @NotNull ProfileData activeProfile) {
+        final var activeGroups = groups.stream()
+                .filter(group -> group.getProfiles().contains(activeProfile))
+                .toList();
+        return new GroupMatcher(activeGroups);
+    }
+
+    /**
+     * Находит первую группу, регулярное выражение которой найдено в пути тестового класса.
+     *
+     * @param testPath полное имя тестового класса
+     * @return группа или null, если ни одна группа не подходит
+     */
+    @Nullable
+    public GroupData match(@NotNull String testPath) {
+        return match(testPath, null);
+    }
+
+    /**
+     * Находит первую группу для пути тестового класса, учитывая количество проверок регулярных выражений.
+     *
+     * @param testPath полное имя тестового класса
+     * @param metrics  замеры операции (может быть null)
+     * @return группа или null, если ни одна группа не подходит
+     */
+    @Nullable
+    public GroupData match(@NotNull String testPath, @Nullable PhaseMetrics metrics) {
+        var best = anchoredRoot.walk(testPath, 0, groups.size());
+        for (int start = 0; start < testPath.length() && best > unanchoredRoot.minGroup; start++) {
+            best = unanchoredRoot.walk(testPath, start, best);
+        }
+        for (int i = 0; i < regexGroupIndexes.length && regexGroupIndexes[i] < best; i++) {
+            if (metrics != null) {
+                metrics.increment(PhaseMetrics.Counter.REGEX_EVALUATIONS);
+            }
+            if (patterns[i].matcher(testPath).find()) {
+                best = regexGroupIndexes[i];
+                break;
+            }
+        }
+        return best < groups.size() ? groups.get(best) : null;
+    }
+
+    /**
+     * Добавляет выражение в префиксное дерево, если оно состоит только из литералов и {@code .}.
+     *
+     * @param regex      регулярное выражение группы
+     * @param groupIndex порядковый номер группы
+     * @return true, если выражение обработано деревом
+     */
+    private boolean addSimplePattern(@NotNull String regex, int groupIndex) {
+        final var anchored = regex.startsWith("^");
+        final var tokens = new StringBuilder();
+        int i = anchored ? 1 : 0;
+        while (i < regex.length()) {
+            final var c = regex.charAt(i);
+            if (c == '\\') {
+                if (i + 1 >= regex.length() || regex.charAt(i + 1) != '.') {
+                    return false;
+                }
+                tokens.append('.');
+                i += 2;
+            } else if (c == '.') {
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == '*') {
+                    // Завершающее ".*" не влияет на результат find()
+                    if (i + 2 != regex.length()) {
+                        return false;
+                    }
+                    break;
+                }
+                tokens.append(WILDCARD);
+                i++;
+            } else if (Character.isLetterOrDigit(c) || c == '_') {
+                tokens.append(c);
+                i++;
+            } else {
+                return false;
+            }
+        }
+        if (tokens.isEmpty()) {
+            return false;
+        }
+
+        var node = anchored ? anchoredRoot : unanchoredRoot;
+        node.minGroup = Math.min(node.minGroup, groupIndex);
+        for (int j = 0; j < tokens.length(); j++) {
+            node = node.children.computeIfAbsent(tokens.charAt(j), key -> new Node());
+            node.minGroup = Math.min(node.minGroup, groupIndex);
+        }
+        node.group = Math.min(node.group, groupIndex);
+        return true;
+    }
+
+    /**
+     * Узел префиксного дерева; {@link #WILDCARD} соответствует любому символу.
+     */
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        /**
+         * Группа, выражение которой заканчивается в этом узле.
+         */
+        private int group = Integer.MAX_VALUE;
+        /**
+         * Минимальный номер группы в поддереве (для отсечения ветвей).
+         */
+        private int minGroup = Integer.MAX_VALUE;
+
+        private int walk(@NotNull String path, int position, int best) {
+            if (minGroup >= best) {
+                return best;
+            }
+            if (group < best) {
+                best = group;
+            }
+            if (position == path.length()) {
+                return best;
+            }
+            final var child = children.get(path.charAt(position));
+            if (child != null) {
+                best = child.walk(path, position + 1, best);
+            }
+            final var wildcard = children.get(WILDCARD);
+            if (wildcard != null) {
+                best = wildcard.walk(path, position + 1, best);
+            }
+            return best;
+        }
+    }
+}
@@ -5,11 +5,32 @@ import com.my.junit.testmanager.config.TestManagerConfig;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
 /**
  * Утилитарный класс для логирования с учётом настроек плагина.
+ * <p>
+ * Признак включения логирования кэшируется и обновляется при изменении настроек
+ * (см. {@link #setLoggingEnabled(boolean)}), поэтому проверка не обращается к сервису настроек.
+ * Для горячих циклов предусмотрены методы с {@link Supplier} и параметрами шаблона "{}":
+ * строка сообщения собирается только если логирование включено.
  */
 public class LoggerUtils {
+    private static final String PLACEHOLDER = "{}";
+    private static final long DEFAULT_RATE_LIMIT_MS = TimeUnit.SECONDS.toMillis(1);
+
+    /**
+     * Кэш признака включения логирования; null — еще не прочитан из настроек.
+     */
+    @Nullable
+    private static volatile Boolean loggingEnabled;
+
     private final Logger logger;
+    private final AtomicLong lastRateLimitedNanos = new AtomicLong();
+    private final AtomicInteger suppressedMessages = new AtomicInteger();
 
     public static LoggerUtils getLogger(
             @NotNull Class<?> clazz
@@ -23,6 +44,84 @@ public class LoggerUtils {
         this.logger = Logger.getInstance(clazz);
     }
 
+    /**
+     * Обновляет кэшированный признак включения логирования.
+     * Вызывается при применении настроек плагина.
+     *
+     * @param enabled включено ли логирование.
+     */
+    public static void setLoggingEnabled(boolean enabled) {
+        loggingEnabled = enabled;
+    }
+
+    /**
+     * Проверяет, будет ли записано отладочное сообщение.
+     *
+     * @return true, если логирование включено и для логгера включен уровень DEBUG.
+     */
+    public boolean isDebugEnabled() {
+        return isLoggingEnabled() && logger.isDebugEnabled();
+    }
+
+    /**
+     * Проверяет, включено ли логирование в настройках плагина.
+     *
+     * @return true, если логирование включено; false в противном случае.
+     */
+    public boolean isLoggingEnabled() {
+        var enabled = loggingEnabled;
+        if (enabled == null) {
+            enabled = TestManagerConfig.getInstance().isLoggingEnabled();
+            loggingEnabled = enabled;
+        }
+        return enabled;
+    }
+
+    /**
+     * Логирует отладочное сообщение, если логирование включено и для логгера включен уровень DEBUG.
+     *
+     * @param message Поставщик сообщения, вызывается только при записи.
+     */
+    public void logDebug(
+            @NotNull Supplier<String> message
+    ) {
+        if (isDebugEnabled()) {
+            logger.debug(message.get());
+        }
+    }
+
+    /**
+     * Логирует отладочное сообщение по шаблону, если логирование включено и для логгера включен уровень DEBUG.
+     *
+     * @param pattern Шаблон сообщения с подстановками "{}".
+     * @param arg     Значение подстановки.
+     */
+    public void logDebug(
+            @NotNull String pattern,
+            @Nullable Object arg
+    ) {
+        if (isDebugEnabled()) {
+            logger.debug(format(pattern, arg));
+        }
+    }
+
+    /**
+     * Логирует отладочное сообщение по шаблону, если логирование включено и для логгера включен уровень DEBUG.
+     *
+     * @param pattern Шаблон сообщения с подстановками "{}".
+     * @param arg1    Значение первой подстановки.
+     * @param arg2    Значение второй подстановки.
+     */
+    public void logDebug(
+            @NotNull String pattern,
+            @Nullable Object arg1,
+            @Nullable Object arg2
+    ) {
+        if (isDebugEnabled()) {
+            logger.debug(format(pattern, arg1, arg2));
+        }
+    }
+
     /**
      * Логирует информационное сообщение, если логирование включено в настройках плагина.
      *
@@ -36,6 +135,90 @@ public class LoggerUtils {
         }
     }
 
+    /**
+     * Логирует информационное сообщение, если логирование включено в настройках плагина.
+     *
+     * @param message Поставщик сообщения, вызывается только при записи.
+     */
+    public void logInfo(
+            @NotNull Supplier<String> message
+    ) {
+        if (isLoggingEnabled()) {
+            logger.info(message.get());
+        }
+    }
+
+    /**
+     * Логирует информационное сообщение по шаблону, если логирование включено в настройках плагина.
+     *
+     * @param pattern Шаблон сообщения с подстановками "{}".
+     * @param arg     Значение подстановки.
+     */
+    public void logInfo(
+            @NotNull String pattern,
+            @Nullable Object arg
+    ) {
+        if (isLoggingEnabled()) {
+            logger.info(format(pattern, arg));
+        }
+    }
+
+    /**
+     * Логирует информационное сообщение по шаблону, если логирование включено в настройках плагина.
+     *
+     * @param pattern Шаблон сообщения с подстановками "{}".
+     * @param arg1    Значение первой подстановки.
+     * @param arg2    Значение второй подстановки.
+     */
+    public void logInfo(
+            @NotNull String pattern,
+            @Nullable Object arg1,
+            @Nullable Object arg2
+    ) {
+        if (isLoggingEnabled()) {
+            logger.info(format(pattern, arg1, arg2));
+        }
+    }
+
+    /**
+     * Логирует информационное сообщение не чаще одного раза в секунду для данного логгера.
+     * Пропущенные сообщения подсчитываются, их количество добавляется к следующему записанному.
+     * Предназначен для сообщений внутри циклов по классам и файлам.
+     *
+     * @param message Поставщик сообщения, вызывается только при записи.
+     */
+    public void logInfoRateLimited(
+            @NotNull Supplier<String> message
+    ) {
+        if (!isLoggingEnabled()) {
+            return;
+        }
+        final var now = System.nanoTime();
+        final var last = lastRateLimitedNanos.get();
+        if (last != 0 && now - last < TimeUnit.MILLISECONDS.toNanos(DEFAULT_RATE_LIMIT_MS)
+                || !lastRateLimitedNanos.compareAndSet(last, now)) {
+            suppressedMessages.incrementAndGet();
+            return;
+        }
+        final var suppressed = suppressedMessages.getAndSet(0);
+        logger.info(suppressed > 0
+                ? message.get() + " (" + suppressed + " similar messages suppressed)"
+                : message.get());
+    }
+
+    /**
+     * Создает счетчик для итогового сообщения вместо записи сообщения на каждую итерацию цикла.
+     *
+     * @param title Заголовок итогового сообщения.
+     * @return Счетчик событий.
+     */
+    @NotNull
+    public Summary summary(
+            @NotNull String title
+    ) {
+        return new Summary(title);
+    }
+
     /**
      * Логирует ошибку с сообщением и исключением, если логирование включено в настройках плагина.
      *
@@ -78,12 +261,74 @@ public class LoggerUtils {
     }
 
     /**
-     * Проверяет, включено ли логирование в настройках плагина.
+     * Логирует предупреждающее сообщение, если логирование включено в настройках плагина.
      *
-     * @return true, если логирование включено; false в противном случае.
+     * @param message Поставщик сообщения, вызывается только при записи.
      */
-    private boolean isLoggingEnabled() {
-        return TestManagerConfig.getInstance().isLoggingEnabled();
+    public void logWarn(
+            @NotNull Supplier<String> message
+    ) {
+        if (isLoggingEnabled()) {
+            logger.warn(message.get());
+        }
     }
 
+    /**
+     * Подставляет значения вместо "{}" в шаблоне.
+     */
+    @NotNull
+    private static String format(
+            @NotNull String pattern,
+            @Nullable Object... args
+    ) {
+        final var result = new StringBuilder(pattern.length() + 32);
+        var from = 0;
+        for (var arg : args) {
+            final var index = pattern.indexOf(PLACEHOLDER, from);
+            if (index < 0) {
+                break;
+            }
+            result.append(pattern, from, index).append(arg);
+            from = index + PLACEHOLDER.length();
+        }
+        return result.append(pattern, from, pattern.length()).toString();
+    }
+
+    /**
+     * Потокобезопасный счетчик событий с записью одного итогового сообщения.
+     */
+    public final class Summary {
+        private final String title;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private Summary(@NotNull String title) {
+            this.title = title;
+        }
+
+        /**
+         * Учитывает одно событие.
+         */
+        public void increment() {
+            count.incrementAndGet();
+        }
+
+        /**
+         * Возвращает количество учтенных событий.
+         *
+         * @return количество событий.
+         */
+        public int getCount() {
+            return count.get();
+        }
+
+        /**
+         * Записывает итоговое сообщение, если были события.
+         */
+        public void log() {
+            final var total = count.get();
+            if (total > 0) {
+                logInfo(title + ": " + total);
+            }
+        }
+    }
 }
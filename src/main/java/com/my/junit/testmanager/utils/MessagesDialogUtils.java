@@ -49,4 +49,23 @@ public class MessagesDialogUtils {
                 Messages.getWarningIcon()
         );
     }
+
+    /**
+     * Показывает диалог подтверждения.
+     *
+     * @param project проект IntelliJ IDEA.
+     * @param message текст вопроса.
+     * @return true, если пользователь подтвердил действие.
+     */
+    public static boolean messageConfirm(
+            @Nullable Project project,
+            @NotNull String message
+    ) {
+        return Messages.showYesNoDialog(
+                project,
+                message,
+                message("dialog.title.confirmation"),
+                Messages.getQuestionIcon()
+        ) == Messages.YES;
+    }
 }
@@ -0,0 +1,188 @@
+package com.my.junit.testmanager.utils;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.concurrency.CancellablePromise;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Утилитарный класс для параллельной обработки модулей проекта в non-blocking read action.
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class ParallelModuleUtils {
+    private static final LoggerUtils log = LoggerUtils.getLogger(ParallelModuleUtils.class);
+    private static final String EXECUTOR_NAME = "JUnitTestManager.ModuleWorker";
+    private static final long POLL_INTERVAL_MS = 50;
+
+    /**
+     * Обрабатывает все модули проекта параллельно на ограниченном пуле потоков.
+     * Каждый модуль обрабатывается в отдельном non-blocking read action, который перезапускается
+     * при write action независимо от остальных. Результаты объединяются в порядке имён модулей,
+     * поэтому не зависят от порядка завершения задач.
+     * <p>
+     * Метод должен вызываться из фонового потока без read lock.
+     *
+     * @param project         проект IntelliJ IDEA.
+     * @param indicator       индикатор прогресса (доля обработанных модулей, отмена).
+     * @param parallelism     максимальное количество одновременно обрабатываемых модулей.
+     * @param moduleProcessor обработчик одного модуля, вызывается внутри read action.
+     * @param <R>             тип элементов результата.
+     * @return объединенный список результатов всех модулей.
+     */
+    @NotNull
+    public static <R> List<R> processModules(
+            @NotNull Project project,
+            @NotNull ProgressIndicator indicator,
+            int parallelism,
+            @NotNull Function<Module, List<R>> moduleProcessor
+    ) {
+        return processModules(project, indicator, parallelism, moduleProcessor, null);
+    }
+
+    /**
+     * Обрабатывает все модули проекта параллельно, передавая результат каждого модуля слушателю
+     * сразу после его завершения (в порядке завершения, из вызывающего потока).
+     * Результат модуля передается только после успешного завершения read action, поэтому
+     * перезапуски при write action не приводят к повторной передаче. К возврату из метода
+     * слушатель получил результаты всех модулей.
+     *
+     * @param project           проект IntelliJ IDEA.
+     * @param indicator         индикатор прогресса (доля обработанных модулей, отмена).
+     * @param parallelism       максимальное количество одновременно обрабатываемых модулей.
+     * @param moduleProcessor   обработчик одного модуля, вызывается внутри read action.
+     * @param onModuleProcessed слушатель результатов модулей (может быть null).
+     * @param <R>               тип элементов результата.
+     * @return объединенный список результатов всех модулей.
+     */
+    @NotNull
+    public static <R> List<R> processModules(
+            @NotNull Project project,
+            @NotNull ProgressIndicator indicator,
+            int parallelism,
+            @NotNull Function<Module, List<R>> moduleProcessor,
+            @Nullable Consumer<List<R>> onModuleProcessed
+    ) {
+        final var modules = ModuleManager.getInstance(project).getModules().clone();
+        Arrays.sort(modules, Comparator.comparing(Module::getName));
+
+        final var executor = AppExecutorUtil.createBoundedApplicationPoolExecutor(
+                EXECUTOR_NAME,
+                Math.max(1, parallelism)
+        );
+        final var promises = new ArrayList<CancellablePromise<List<R>>>(modules.length);
+        final var completedIndexes = new LinkedBlockingQueue<Integer>();
+        for (var module : modules) {
+            final var index = promises.size();
+            final var promise = ReadAction
+                    .nonBlocking(() -> moduleProcessor.apply(module))
+                    .expireWith(project)
+                    .wrapProgress(indicator)
+                    .submit(executor);
+            // Поток пула только сообщает о завершении, результат забирает вызывающий поток
+            promise.onProcessed(ignored -> completedIndexes.add(index));
+            promises.add(promise);
+        }
+
+        try {
+            final var moduleResults = new ArrayList<List<R>>(Collections.nCopies(modules.length, null));
+            var remaining = modules.length;
+            while (remaining > 0) {
+                final var index = pollCompleted(completedIndexes, indicator);
+                if (index == null || moduleResults.get(index) != null) {
+                    continue;
+                }
+                final var moduleResult = await(promises.get(index), indicator);
+                moduleResults.set(index, moduleResult);
+                remaining--;
+                // Read action перезапускается при write action, поэтому прогресс считается здесь:
+                // каждый модуль доставляется ровно один раз
+                indicator.setFraction((double) (modules.length - remaining) / modules.length);
+                indicator.setText2(modules[index].getName());
+                if (onModuleProcessed != null) {
+                    onModuleProcessed.accept(moduleResult);
+                }
+            }
+            final var results = new ArrayList<R>();
+            moduleResults.forEach(results::addAll);
+            indicator.setFraction(1.0);
+            return results;
+        } finally {
+            promises.forEach(promise -> promise.cancel(false));
+        }
+    }
+
+    /**
+     * Ожидает завершения очередной задачи не дольше интервала опроса, проверяя отмену индикатора.
+     *
+     * @param completedIndexes индексы завершенных задач
+     * @param indicator        индикатор прогресса
+     * @return индекс завершенной задачи или null, если за интервал ни одна задача не завершилась
+     */
+    @Nullable
+    private static Integer pollCompleted(
+            @NotNull BlockingQueue<Integer> completedIndexes,
+            @NotNull ProgressIndicator indicator
+    ) {
+        indicator.checkCanceled();
+        try {
+            return completedIndexes.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessCanceledException(e);
+        }
+    }
+
+    /**
+     * Ожидает завершения задачи, периодически проверяя отмену индикатора.
+     *
+     * @param promise   задача
+     * @param indicator индикатор прогресса
+     * @param <T>       тип результата
+     * @return результат задачи
+     */
+    private static <T> T await(
+            @NotNull CancellablePromise<T> promise,
+            @NotNull ProgressIndicator indicator
+    ) {
+        while (true) {
+            indicator.checkCanceled();
+            try {
+                return promise.get(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ignored) {
+                // продолжаем ожидание
+            } catch (CancellationException e) {
+                throw new ProcessCanceledException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ProcessCanceledException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof ProcessCanceledException pce) {
+                    throw pce;
+                }
+                log.logError("Module processing failed", e.getCause());
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.my.junit.testmanager.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счетчики и таймеры фаз одной операции (поиск тестов, анализ релокации, генерация данных).
+ * Потокобезопасен: фазы и счетчики могут обновляться из нескольких потоков пула одновременно,
+ * поэтому время фазы — сумма времени по всем потокам, а не время по часам.
+ * <p>
+ * Использование:
+ * <pre>{@code
+ * try (var ignored = metrics.phase(PhaseMetrics.PHASE_PSI_LOAD)) {
+ *     ...
+ * }
+ * metrics.add(PhaseMetrics.Counter.PSI_LOADS, classes.size());
+ * }</pre>
+ */
+public final class PhaseMetrics {
+    public static final String PHASE_INDEX_LOOKUP = "index lookup";
+    public static final String PHASE_PSI_LOAD = "PSI loading";
+    public static final String PHASE_TEST_DETECTION = "test detection";
+    public static final String PHASE_GROUP_MATCHING = "group matching";
+    public static final String PHASE_CACHE = "cache";
+    public static final String PHASE_GIT_DIFF = "git diff";
+    public static final String PHASE_RELOCATION_MATCHING = "relocation matching";
+    public static final String PHASE_DEPENDENCY_COLLECTION = "dependency collection";
+    public static final String PHASE_CONTENT_GENERATION = "content generation";
+    public static final String PHASE_FILE_WRITE = "file write";
+    public static final String PHASE_CONFIGURATION_BUILD = "configuration build";
+    public static final String PHASE_CONFIGURATION_REGISTRATION = "configuration registration";
+
+    /**
+     * Счетчики операции.
+     */
+    public enum Counter {
+        FILES_VISITED("filesVisited"),
+        CLASSES_INSPECTED("classesInspected"),
+        REGEX_EVALUATIONS("regexEvaluations"),
+        PSI_LOADS("psiLoads"),
+        RESULTS("results");
+
+        private final String key;
+
+        Counter(@NotNull String key) {
+            this.key = key;
+        }
+
+        @NotNull
+        public String getKey() {
+            return key;
+        }
+    }
+
+    /**
+     * Таймер фазы, закрывается в try-with-resources.
+     */
+    public interface PhaseTimer extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private final String operation;
+    private final long startedAtMillis = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private final Map<String, LongAdder> phaseNanos = new ConcurrentHashMap<>();
+    private final LongAdder[] counters = new LongAdder[Counter.values().length];
+    private volatile long elapsedNanos = -1;
+
+    public PhaseMetrics(@NotNull String operation) {
+        this.operation = operation;
+        Arrays.setAll(counters, i -> new LongAdder());
+    }
+
+    /**
+     * Начинает замер фазы. Повторные замеры одной фазы суммируются.
+     *
+     * @param phase название фазы
+     * @return таймер, останавливаемый при закрытии
+     */
+    @NotNull
+    public PhaseTimer phase(@NotNull String phase) {
+        final var phaseStart = System.nanoTime();
+        return () -> phaseNanos.computeIfAbsent(phase, key -> new LongAdder()).add(System.nanoTime() - phaseStart);
+    }
+
+    public void increment(@NotNull Counter counter) {
+        counters[counter.ordinal()].increment();
+    }
+
+    public void add(@NotNull Counter counter, long value) {
+        counters[counter.ordinal()].add(value);
+    }
+
+    public long get(@NotNull Counter counter) {
+        return counters[counter.ordinal()].sum();
+    }
+
+    /**
+     * Фиксирует общее время операции.
+     */
+    public void finish() {
+        elapsedNanos = System.nanoTime() - startNanos;
+    }
+
+    @NotNull
+    public String getOperation() {
+        return operation;
+    }
+
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+
+    /**
+     * Возвращает общее время операции по часам.
+     *
+     * @return время в миллисекундах (до завершения — время с начала операции)
+     */
+    public long getElapsedMillis() {
+        final var elapsed = elapsedNanos;
+        return TimeUnit.NANOSECONDS.toMillis(elapsed >= 0 ? elapsed : System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Возвращает суммарное время фаз, отсортированное по убыванию.
+     *
+     * @return название фазы → время в миллисекундах
+     */
+    @NotNull
+    public Map<String, Long> getPhaseMillis() {
+        final var result = new LinkedHashMap<String, Long>();
+        phaseNanos.entrySet()
+                .stream()
+                .sorted(Map.Entry.<String, LongAdder>comparingByValue(
+                        (a, b) -> Long.compare(b.sum(), a.sum())))
+                .forEach(entry -> result.put(entry.getKey(), TimeUnit.NANOSECONDS.toMillis(entry.getValue().sum())));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Возвращает значения счетчиков.
+     *
+     * @return ключ счетчика → значение
+     */
+    @NotNull
+    public Map<String, Long> getCounters() {
+        final var result = new LinkedHashMap<String, Long>();
+        for (var counter : Counter.values()) {
+            result.put(counter.getKey(), get(counter));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+}
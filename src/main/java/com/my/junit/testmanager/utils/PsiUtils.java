@@ -1,33 +1,40 @@
 package com.my.junit.testmanager.utils;
 
-import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleManager;
 import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.GeneratedSourcesFilter;
 import com.intellij.openapi.roots.ModuleRootManager;
 import com.intellij.openapi.roots.ProjectFileIndex;
 import com.intellij.openapi.vcs.changes.ChangeListManager;
 import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.psi.PsiAnnotation;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiDirectory;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiJavaFile;
 import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiPackage;
 import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.GlobalSearchScopesCore;
 import com.intellij.psi.search.PsiShortNamesCache;
-import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.refactoring.JavaRefactoringFactory;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.my.junit.testmanager.data.TestMarker;
+import com.my.junit.testmanager.index.TestClassIndex;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.jps.model.java.JavaSourceRootType;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Stream;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Утилитарный класс для работы с PSI элементами.
@@ -35,6 +42,7 @@ import java.util.stream.Stream;
  */
 public class PsiUtils {
     private static final LoggerUtils log = LoggerUtils.getLogger(PsiUtils.class);
+    private static final String JAVA_EXTENSION = "java";
 
     /**
      * Поиск всех PsiClass по имени класса в проекте.
@@ -53,6 +61,8 @@ public class PsiUtils {
 
     /**
      * Получение всех изменённых PsiClass из всех модулей проекта для указанного типа исходного кода.
+     * Перед построением PSI изменения отфильтровываются на уровне VirtualFile
+     * (см. {@link #isChangedFileCandidate}), поэтому ресурсы и файлы вне нужных корней не загружаются.
      *
      * @param project        проект IntelliJ IDEA.
      * @param sourceRootType тип исходного кода (SOURCE или TEST_SOURCE).
@@ -68,35 +78,49 @@ public class PsiUtils {
         final var changes = changeListManager.getAllChanges();
         final var psiManager = PsiManager.getInstance(project);
         final var projectFileIndex = ProjectFileIndex.getInstance(project);
+        final var rootTypes = Set.of(sourceRootType);
 
         for (var change : changes) {
             final var afterRevision = change.getAfterRevision();
-            if (afterRevision != null) {
-
-                final var virtualFile = afterRevision.getFile().getVirtualFile();
-                if (virtualFile != null && virtualFile.isValid()) {
-
-                    final var module = projectFileIndex.getModuleForFile(virtualFile);
-                    if (module == null) {
-                        continue;
-                    }
-
-                    final var rootManager = ModuleRootManager.getInstance(module);
-                    final var relevantSourceRoots = rootManager.getSourceRoots(sourceRootType);
-                    if (relevantSourceRoots.isEmpty()) {
-                        continue;
-                    }
-
-                    final var psiFile = psiManager.findFile(virtualFile);
-                    if (psiFile instanceof PsiJavaFile javaFile) {
-                        psiClasses.addAll(Arrays.asList(javaFile.getClasses()));
-                    }
-                }
+            if (afterRevision == null) {
+                continue;
+            }
+            final var virtualFile = afterRevision.getFile().getVirtualFile();
+            if (!isChangedFileCandidate(project, projectFileIndex, virtualFile, rootTypes)) {
+                continue;
+            }
+            if (psiManager.findFile(virtualFile) instanceof PsiJavaFile javaFile) {
+                psiClasses.addAll(Arrays.asList(javaFile.getClasses()));
             }
         }
         return psiClasses;
     }
 
+    /**
+     * Проверка измененного файла без обращения к PSI: Java-файл в корне исходников нужного типа,
+     * не исключенный и не сгенерированный.
+     *
+     * @param project          проект IntelliJ IDEA.
+     * @param projectFileIndex индекс файлов проекта.
+     * @param virtualFile      измененный файл (может быть null для удаленных файлов).
+     * @param rootTypes        допустимые типы корней исходников.
+     * @return true, если для файла нужно строить PSI.
+     */
+    private static boolean isChangedFileCandidate(
+            @NotNull Project project,
+            @NotNull ProjectFileIndex projectFileIndex,
+            @Nullable VirtualFile virtualFile,
+            @NotNull Set<JavaSourceRootType> rootTypes
+    ) {
+        return virtualFile != null
+                && virtualFile.isValid()
+                && !virtualFile.isDirectory()
+                && JAVA_EXTENSION.equals(virtualFile.getExtension())
+                && projectFileIndex.isUnderSourceRootOfType(virtualFile, rootTypes)
+                && !projectFileIndex.isExcluded(virtualFile)
+                && !GeneratedSourcesFilter.isGeneratedSourceByAnyFilter(virtualFile, project);
+    }
+
     /**
      * Получение всех PsiClass из всех модулей проекта для указанного типа исходного кода.
      *
@@ -113,13 +137,33 @@ public class PsiUtils {
         final var moduleManager = ModuleManager.getInstance(project);
 
         for (var module : moduleManager.getModules()) {
-            final var rootManager = ModuleRootManager.getInstance(module);
-            for (var root : rootManager.getSourceRoots(sourceRootType)) {
-                final var psiDirectory = PsiManager.getInstance(project).findDirectory(root);
-                if (psiDirectory != null) {
-                    psiClasses.addAll(
-                            getAllPsiClassesFromDirectory(psiDirectory));
-                }
+            psiClasses.addAll(
+                    getAllPsiClassesFromModule(project, module, sourceRootType));
+        }
+        return psiClasses;
+    }
+
+    /**
+     * Получение всех PsiClass из модуля для указанного типа исходного кода.
+     *
+     * @param project        проект IntelliJ IDEA.
+     * @param module         модуль проекта.
+     * @param sourceRootType тип исходного кода (SOURCE или TEST_SOURCE).
+     * @return список всех PsiClass модуля.
+     */
+    @NotNull
+    public static List<PsiClass> getAllPsiClassesFromModule(
+            @NotNull Project project,
+            @NotNull Module module,
+            @NotNull JavaSourceRootType sourceRootType
+    ) {
+        final var psiClasses = new ArrayList<PsiClass>();
+        final var rootManager = ModuleRootManager.getInstance(module);
+        for (var root : rootManager.getSourceRoots(sourceRootType)) {
+            final var psiDirectory = PsiManager.getInstance(project).findDirectory(root);
+            if (psiDirectory != null) {
+                psiClasses.addAll(
+                        getAllPsiClassesFromDirectory(psiDirectory));
             }
         }
         return psiClasses;
@@ -170,6 +214,69 @@ public class PsiUtils {
         return psiClasses;
     }
 
+    /**
+     * Получение PsiClass-кандидатов в тесты из модуля для указанного типа исходного кода.
+     *
+     * @param project        проект IntelliJ IDEA.
+     * @param module         модуль проекта.
+     * @param sourceRootType тип исходного кода (SOURCE или TEST_SOURCE).
+     * @return список PsiClass из файлов модуля, содержащих признаки тестов.
+     */
+    @NotNull
+    public static List<PsiClass> getTestCandidatePsiClassesFromModule(
+            @NotNull Project project,
+            @NotNull Module module,
+            @NotNull JavaSourceRootType sourceRootType
+    ) {
+        final var psiClasses = new ArrayList<PsiClass>();
+        final var rootManager = ModuleRootManager.getInstance(module);
+        for (var root : rootManager.getSourceRoots(sourceRootType)) {
+            psiClasses.addAll(
+                    getTestCandidatePsiClassesFromDirectory(project, root));
+        }
+        return psiClasses;
+    }
+
+    /**
+     * Получение PsiClass-кандидатов в тесты из указанной директории (рекурсивно).
+     * Использует {@link TestClassIndex}, поэтому PSI строится только для файлов с признаками тестов.
+     *
+     * @param project   проект IntelliJ IDEA.
+     * @param directory директория VirtualFile.
+     * @return список PsiClass из файлов, содержащих признаки тестов.
+     */
+    @NotNull
+    public static List<PsiClass> getTestCandidatePsiClassesFromDirectory(
+            @NotNull Project project,
+            @NotNull VirtualFile directory
+    ) {
+        final var scope = GlobalSearchScopesCore.directoryScope(project, directory, true);
+        final var psiManager = PsiManager.getInstance(project);
+        final var psiClasses = new ArrayList<PsiClass>();
+        for (var file : getTestCandidateFiles(scope)) {
+            if (psiManager.findFile(file) instanceof PsiJavaFile javaFile) {
+                psiClasses.addAll(Arrays.asList(javaFile.getClasses()));
+            }
+        }
+        return psiClasses;
+    }
+
+    /**
+     * Получение файлов-кандидатов в тесты из {@link TestClassIndex} без построения PSI.
+     *
+     * @param scope область поиска.
+     * @return файлы с признаками тестов, отсортированные по пути.
+     */
+    @NotNull
+    public static Set<VirtualFile> getTestCandidateFiles(@NotNull GlobalSearchScope scope) {
+        final var fileBasedIndex = FileBasedIndex.getInstance();
+        final var files = new TreeSet<>(Comparator.comparing(VirtualFile::getPath));
+        for (var marker : TestMarker.values()) {
+            files.addAll(fileBasedIndex.getContainingFiles(TestClassIndex.NAME, marker.name(), scope));
+        }
+        return files;
+    }
+
     /**
      * Проверка, находится ли указанный PsiClass в корне тестовых исходников.
      *
@@ -217,92 +324,16 @@ public class PsiUtils {
         return lastDot > 0 ? fqcn.substring(0, lastDot) : "";
     }
 
-    /**
-     * Проверка, есть ли импорт targetClass в testClass.
-     *
-     * @param testClass   Тестовый класс.
-     * @param targetClass Целевой класс.
-     * @return true, если импорт присутствует, иначе false.
-     */
-    public static boolean hasImportOnClass(@NotNull PsiClass testClass, @NotNull PsiClass targetClass) {
-        final var file = testClass.getContainingFile();
-        if (!(file instanceof PsiJavaFile javaFile)) {
-            return false;
-        }
-
-        final var importList = javaFile.getImportList();
-        if (importList == null) {
-            return false;
-        }
-
-        final var targetQualifiedName = targetClass.getQualifiedName();
-        if (targetQualifiedName == null) {
-            return false;
-        }
-
-        for (var importStmt : importList.getImportStatements()) {
-            if (importStmt.getQualifiedName() != null &&
-                    importStmt.getQualifiedName().equals(targetQualifiedName)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     /**
      * Проверка, является ли указанный PsiClass тестовым классом.
      * Проверяет наличие тестовых аннотаций, наследование от TestCase или имя, заканчивающееся на "Test".
      *
      * @param psiClass PsiClass для проверки.
      * @return true, если PsiClass является тестовым классом, иначе false.
+     * @see TestClassDetector#isTestClass(PsiClass)
      */
     public static boolean isTestClass(@NotNull PsiClass psiClass) {
-        // Проверка на тестовые аннотации (JUnit 4, JUnit 5, TestNG)
-        if (hasTestAnnotation(psiClass)) {
-            return true;
-        }
-
-        // Проверка на наследование от TestCase (JUnit 3)
-        if (inheritsFromTestCase(psiClass)) {
-            return true;
-        }
-
-        // Проверка имени класса (заканчивается на "Test")
-        final var className = psiClass.getName();
-        return className != null && className.endsWith("Test");
-    }
-
-    /**
-     * Проверяет наличие тестовых аннотаций в классе.
-     *
-     * @param psiClass класс для проверки
-     * @return true, если найдена тестовая аннотация
-     */
-    private static boolean hasTestAnnotation(@NotNull PsiClass psiClass) {
-        return PsiTreeUtil.findChildrenOfType(psiClass, PsiAnnotation.class)
-                .stream()
-                .anyMatch(annotation -> {
-                    final var qualifiedName = annotation.getQualifiedName();
-                    if (qualifiedName == null) {
-                        return false;
-                    }
-                    // Проверяем стандартные тестовые аннотации
-                    return qualifiedName.equals("org.junit.Test") ||
-                           qualifiedName.equals("org.junit.jupiter.api.Test") ||
-                           qualifiedName.equals("org.testng.annotations.Test") ||
-                           qualifiedName.contains("Test");
-                });
-    }
-
-    /**
-     * Проверяет, наследуется ли класс от TestCase (JUnit 3).
-     *
-     * @param psiClass класс для проверки
-     * @return true, если класс наследуется от TestCase
-     */
-    private static boolean inheritsFromTestCase(@NotNull PsiClass psiClass) {
-        return Stream.of(psiClass.getSupers())
-                .anyMatch(superClass -> "junit.framework.TestCase".equals(superClass.getQualifiedName()));
+        return TestClassDetector.isTestClass(psiClass);
     }
 
 
@@ -338,35 +369,97 @@ public class PsiUtils {
     }
 
     /**
-     * Перемещает указанный PsiClass в целевой пакет.
+     * Перемещает классы в целевой пакет одним рефакторингом: один поиск использований,
+     * одна write action и одна команда отмены на весь набор. Рефакторинг сам управляет
+     * write action, поэтому метод вызывается из EDT вне write action.
      *
      * @param project       проект IntelliJ IDEA.
-     * @param element       PsiElement (класс) для перемещения.
+     * @param elements      PsiElement-ы (классы) для перемещения.
      * @param targetPackage целевой пакет для перемещения.
+     * @return true, если рефакторинг выполнен без ошибок, иначе false.
      */
-    public static void movePsiClass(
+    public static boolean movePsiClasses(
             @NotNull Project project,
-            @NotNull PsiElement element,
+            @NotNull PsiElement[] elements,
             @NotNull String targetPackage
     ) {
-        log.logInfo("Moving class to package: " + targetPackage);
+        log.logInfo("Moving " + elements.length + " classes to package: " + targetPackage);
         final var refactoringFactory = JavaRefactoringFactory.getInstance(project);
-        ApplicationManager.getApplication().runWriteAction(() -> {
-            try {
-                final var moveDestination =
-                        refactoringFactory.createSourceFolderPreservingMoveDestination(targetPackage);
-                final var refactoring = refactoringFactory.createMoveClassesOrPackages(
-                        new PsiElement[]{element},
-                        moveDestination,
-                        false,
-                        true
-                );
-                refactoring.run();
-                log.logInfo("Successfully moved class to package: " + targetPackage);
-            } catch (Exception ex) {
-                log.logError("Error during move refactoring to package: " + targetPackage, ex);
-            }
-        });
+        try {
+            final var moveDestination =
+                    refactoringFactory.createSourceFolderPreservingMoveDestination(targetPackage);
+            final var refactoring = refactoringFactory.createMoveClassesOrPackages(
+                    elements,
+                    moveDestination,
+                    false,
+                    true
+            );
+            refactoring.setPreviewUsages(false);
+            refactoring.run();
+            log.logInfo("Successfully moved " + elements.length + " classes to package: " + targetPackage);
+            return true;
+        } catch (Exception ex) {
+            log.logError("Error during move refactoring to package: " + targetPackage, ex);
+            return false;
+        }
+    }
+
+    /**
+     * Перемещает пакет целиком (со всеми классами и подпакетами) в родительский пакет
+     * одним рефакторингом. Вызывается из EDT вне write action.
+     *
+     * @param project             проект IntelliJ IDEA.
+     * @param psiPackage          перемещаемый пакет.
+     * @param targetParentPackage пакет, в который перемещается пакет.
+     * @return true, если рефакторинг выполнен без ошибок, иначе false.
+     */
+    public static boolean movePsiPackage(
+            @NotNull Project project,
+            @NotNull PsiPackage psiPackage,
+            @NotNull String targetParentPackage
+    ) {
+        log.logInfo("Moving package " + psiPackage.getQualifiedName() + " to package: " + targetParentPackage);
+        final var refactoringFactory = JavaRefactoringFactory.getInstance(project);
+        try {
+            final var refactoring = refactoringFactory.createMoveClassesOrPackages(
+                    new PsiElement[]{psiPackage},
+                    refactoringFactory.createSourceFolderPreservingMoveDestination(targetParentPackage),
+                    false,
+                    true
+            );
+            refactoring.setPreviewUsages(false);
+            refactoring.run();
+            return true;
+        } catch (Exception ex) {
+            log.logError("Error during package move to: " + targetParentPackage, ex);
+            return false;
+        }
+    }
+
+    /**
+     * Переименовывает последний сегмент пакета одним рефакторингом. Вызывается из EDT вне write action.
+     *
+     * @param project    проект IntelliJ IDEA.
+     * @param psiPackage переименовываемый пакет.
+     * @param newName    новое простое имя пакета.
+     * @return true, если рефакторинг выполнен без ошибок, иначе false.
+     */
+    public static boolean renamePsiPackage(
+            @NotNull Project project,
+            @NotNull PsiPackage psiPackage,
+            @NotNull String newName
+    ) {
+        log.logInfo("Renaming package " + psiPackage.getQualifiedName() + " to: " + newName);
+        try {
+            final var refactoring = JavaRefactoringFactory.getInstance(project).createRename(psiPackage, newName);
+            refactoring.setPreviewUsages(false);
+            refactoring.setSearchInComments(false);
+            refactoring.run();
+            return true;
+        } catch (Exception ex) {
+            log.logError("Error during package rename to: " + newName, ex);
+            return false;
+        }
     }
 
     private static final String JAVA_LANG_RECORD = "java.lang.Record";
@@ -0,0 +1,201 @@
+package com.my.junit.testmanager.utils;
+
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiModifierList;
+import com.my.junit.testmanager.data.TestMethodCounts;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * Утилитарный класс для определения тестовых классов.
+ * Работает только со stub-уровнем PSI (списки модификаторов, методы, поля, список наследования),
+ * поэтому не загружает AST файла и тела методов.
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class TestClassDetector {
+    private static final String TEST_MARKER = "Test";
+    private static final String TEST_CASE_NAME = "TestCase";
+    private static final String TEST_CASE_FQCN = "junit.framework.TestCase";
+    private static final String OBJECT_FQCN = "java.lang.Object";
+    private static final String TEST_ANNOTATION = "Test";
+    private static final String PARAMETERIZED_TEST_ANNOTATION = "ParameterizedTest";
+    private static final String REPEATED_TEST_ANNOTATION = "RepeatedTest";
+    private static final String TEST_FACTORY_ANNOTATION = "TestFactory";
+
+    /**
+     * Проверка, является ли указанный PsiClass тестовым классом.
+     * Проверяет имя класса, тестовые аннотации и наследование от TestCase, завершаясь на первом совпадении.
+     *
+     * @param psiClass PsiClass для проверки.
+     * @return true, если PsiClass является тестовым классом, иначе false.
+     */
+    public static boolean isTestClass(@NotNull PsiClass psiClass) {
+        // Проверка имени класса (заканчивается на "Test") — самая дешевая
+        final var className = psiClass.getName();
+        if (className != null && className.endsWith(TEST_MARKER)) {
+            return true;
+        }
+
+        // Проверка на тестовые аннотации (JUnit 4, JUnit 5, TestNG)
+        if (hasTestAnnotation(psiClass)) {
+            return true;
+        }
+
+        // Проверка на наследование от TestCase (JUnit 3)
+        return inheritsFromTestCase(psiClass);
+    }
+
+    /**
+     * Подсчитывает тестовые методы класса, включая унаследованные от суперклассов и интерфейсов.
+     * Переопределенный метод учитывается один раз — по аннотациям ближайшего к классу объявления.
+     * Аннотации определяются по короткому имени, тела методов не загружаются.
+     *
+     * @param psiClass тестовый класс
+     * @return количество тестовых методов по типам
+     */
+    @NotNull
+    public static TestMethodCounts countTestMethods(@NotNull PsiClass psiClass) {
+        int tests = 0;
+        int parameterized = 0;
+        int repeated = 0;
+        int factories = 0;
+
+        final var seenSignatures = new HashSet<String>();
+        final var visitedClasses = new HashSet<PsiClass>();
+        final var queue = new ArrayDeque<PsiClass>();
+        queue.add(psiClass);
+        while (!queue.isEmpty()) {
+            final var current = queue.poll();
+            if (!visitedClasses.add(current) || OBJECT_FQCN.equals(current.getQualifiedName())) {
+                continue;
+            }
+            for (var method : current.getMethods()) {
+                if (!seenSignatures.add(method.getName() + "/" + method.getParameterList().getParametersCount())) {
+                    continue;
+                }
+                switch (getTestAnnotationName(method.getModifierList())) {
+                    case TEST_ANNOTATION -> tests++;
+                    case PARAMETERIZED_TEST_ANNOTATION -> parameterized++;
+                    case REPEATED_TEST_ANNOTATION -> repeated++;
+                    case TEST_FACTORY_ANNOTATION -> factories++;
+                    default -> {
+                        // не тестовый метод
+                    }
+                }
+            }
+            queue.addAll(Arrays.asList(current.getSupers()));
+        }
+        return new TestMethodCounts(tests, parameterized, repeated, factories);
+    }
+
+    /**
+     * Возвращает короткое имя первой тестовой аннотации метода.
+     *
+     * @param modifierList список модификаторов метода
+     * @return имя аннотации или пустая строка
+     */
+    @NotNull
+    private static String getTestAnnotationName(@NotNull PsiModifierList modifierList) {
+        for (var annotation : modifierList.getAnnotations()) {
+            final var nameReference = annotation.getNameReferenceElement();
+            final var referenceName = nameReference != null ? nameReference.getReferenceName() : null;
+            if (TEST_ANNOTATION.equals(referenceName)
+                    || PARAMETERIZED_TEST_ANNOTATION.equals(referenceName)
+                    || REPEATED_TEST_ANNOTATION.equals(referenceName)
+                    || TEST_FACTORY_ANNOTATION.equals(referenceName)) {
+                return referenceName;
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Проверяет наличие тестовых аннотаций на классе, его методах, полях и вложенных классах.
+     *
+     * @param psiClass класс для проверки
+     * @return true, если найдена тестовая аннотация
+     */
+    private static boolean hasTestAnnotation(@NotNull PsiClass psiClass) {
+        if (hasTestAnnotation(psiClass.getModifierList())) {
+            return true;
+        }
+        for (var method : psiClass.getMethods()) {
+            if (hasTestAnnotation(method.getModifierList())) {
+                return true;
+            }
+        }
+        for (var field : psiClass.getFields()) {
+            if (hasTestAnnotation(field.getModifierList())) {
+                return true;
+            }
+        }
+        for (var innerClass : psiClass.getInnerClasses()) {
+            if (hasTestAnnotation(innerClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Проверяет наличие тестовых аннотаций в списке модификаторов.
+     *
+     * @param modifierList список модификаторов (может быть null)
+     * @return true, если найдена тестовая аннотация
+     */
+    private static boolean hasTestAnnotation(@Nullable PsiModifierList modifierList) {
+        if (modifierList == null) {
+            return false;
+        }
+        for (var annotation : modifierList.getAnnotations()) {
+            if (isTestAnnotation(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Проверяет, является ли аннотация тестовой.
+     * Аннотация определяется по короткому имени ссылки, что не требует резолва.
+     *
+     * @param annotation аннотация для проверки
+     * @return true, если имя аннотации содержит "Test"
+     */
+    private static boolean isTestAnnotation(@NotNull PsiAnnotation annotation) {
+        final var nameReference = annotation.getNameReferenceElement();
+        if (nameReference == null) {
+            return false;
+        }
+        final var referenceName = nameReference.getReferenceName();
+        return referenceName != null && referenceName.contains(TEST_MARKER);
+    }
+
+    /**
+     * Проверяет, наследуется ли класс от TestCase (JUnit 3).
+     * Резолвится только ссылка с именем TestCase из списка extends.
+     *
+     * @param psiClass класс для проверки
+     * @return true, если класс наследуется от TestCase
+     */
+    private static boolean inheritsFromTestCase(@NotNull PsiClass psiClass) {
+        final var extendsList = psiClass.getExtendsList();
+        if (extendsList == null) {
+            return false;
+        }
+        for (var reference : extendsList.getReferenceElements()) {
+            if (TEST_CASE_NAME.equals(reference.getReferenceName())
+                    && reference.resolve() instanceof PsiClass superClass
+                    && TEST_CASE_FQCN.equals(superClass.getQualifiedName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
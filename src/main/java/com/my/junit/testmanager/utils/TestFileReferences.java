@@ -0,0 +1,113 @@
+package com.my.junit.testmanager.utils;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Неизменяемый снимок классов, видимых в тестовом файле: импорты одного типа, импорты по требованию
+ * и собственный пакет файла (классы своего пакета доступны без импорта).
+ * Строится один раз на файл по import list и package statement, которые читаются из stub-дерева
+ * без разбора тела файла; проверка ссылки на класс после этого — поиск в хеш-таблицах.
+ */
+public final class TestFileReferences {
+    private static final TestFileReferences EMPTY = new TestFileReferences(Map.of(), Set.of());
+
+    /**
+     * Простое имя → FQCN для импортов одного типа.
+     */
+    private final Map<String, String> singleTypeImports;
+
+    /**
+     * Пакеты (и классы), импортированные по требованию, вместе с пакетом самого файла.
+     */
+    private final Set<String> onDemandPackages;
+
+    private TestFileReferences(
+            @NotNull Map<String, String> singleTypeImports,
+            @NotNull Set<String> onDemandPackages
+    ) {
+        this.singleTypeImports = singleTypeImports;
+        this.onDemandPackages = onDemandPackages;
+    }
+
+    /**
+     * Собирает ссылки файла. Вызывается внутри read action.
+     *
+     * @param file файл тестового класса
+     * @return снимок ссылок (пустой для не-Java файлов)
+     */
+    @NotNull
+    public static TestFileReferences of(@NotNull PsiFile file) {
+        if (!(file instanceof PsiJavaFile javaFile)) {
+            return EMPTY;
+        }
+        final var singleTypeImports = new ArrayList<String>();
+        final var onDemandImports = new ArrayList<String>();
+        final var importList = javaFile.getImportList();
+        if (importList != null) {
+            for (var importStatement : importList.getImportStatements()) {
+                final var qualifiedName = importStatement.getQualifiedName();
+                if (qualifiedName == null) {
+                    continue;
+                }
+                if (importStatement.isOnDemand()) {
+                    onDemandImports.add(qualifiedName);
+                } else {
+                    singleTypeImports.add(qualifiedName);
+                }
+            }
+        }
+        return of(javaFile.getPackageName(), singleTypeImports, onDemandImports);
+    }
+
+    /**
+     * Собирает ссылки из пакета и импортов файла.
+     *
+     * @param packageName       пакет файла (пустая строка — пакет по умолчанию)
+     * @param singleTypeImports полные имена классов из импортов одного типа
+     * @param onDemandImports   пакеты и классы из импортов по требованию (без {@code .*})
+     * @return снимок ссылок
+     */
+    @NotNull
+    static TestFileReferences of(
+            @NotNull String packageName,
+            @NotNull Collection<String> singleTypeImports,
+            @NotNull Collection<String> onDemandImports
+    ) {
+        final var importsBySimpleName = new HashMap<String, String>();
+        for (var qualifiedName : singleTypeImports) {
+            importsBySimpleName.put(getSimpleName(qualifiedName), qualifiedName);
+        }
+        final var onDemandPackages = new HashSet<>(onDemandImports);
+        onDemandPackages.add(packageName);
+        return new TestFileReferences(importsBySimpleName, onDemandPackages);
+    }
+
+    /**
+     * Проверяет, ссылается ли файл на класс: явный импорт с тем же простым именем затеняет
+     * импорты по требованию и классы своего пакета, как и в Java.
+     *
+     * @param fqcn полное имя класса
+     * @return true, если класс виден в файле под своим простым именем
+     */
+    public boolean references(@NotNull String fqcn) {
+        final var imported = singleTypeImports.get(getSimpleName(fqcn));
+        if (imported != null) {
+            return imported.equals(fqcn);
+        }
+        return onDemandPackages.contains(PsiUtils.extractPackageFromFqcn(fqcn));
+    }
+
+    @NotNull
+    private static String getSimpleName(@NotNull String fqcn) {
+        return fqcn.substring(fqcn.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,122 @@
+package com.my.junit.testmanager.utils;
+
+import com.my.junit.testmanager.config.TestManagerConfig;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Неизменяемый снимок соглашений об именовании тестовых классов.
+ * Соглашение задается шаблоном с одной звездочкой в начале или в конце:
+ * {@code *Test}, {@code *IT} — суффикс, {@code Test*} — префикс.
+ * Шаблоны компилируются один раз в массивы суффиксов и префиксов, после чего для класса
+ * исходников все имена-кандидаты его тестов вычисляются за один проход.
+ */
+public final class TestNamingMatcher {
+    private static final LoggerUtils log = LoggerUtils.getLogger(TestNamingMatcher.class);
+    private static final char WILDCARD = '*';
+
+    private final String[] suffixes;
+    private final String[] prefixes;
+
+    private TestNamingMatcher(@NotNull String[] suffixes, @NotNull String[] prefixes) {
+        this.suffixes = suffixes;
+        this.prefixes = prefixes;
+    }
+
+    /**
+     * Компилирует соглашения об именовании из настроек.
+     *
+     * @param settings настройки плагина
+     * @return снимок соглашений
+     */
+    @NotNull
+    public static TestNamingMatcher compile(@NotNull TestManagerConfig settings) {
+        return compile(settings.getTestNamingConventions());
+    }
+
+    /**
+     * Компилирует шаблоны соглашений об именовании. Некорректные шаблоны пропускаются,
+     * дубликаты объединяются с сохранением порядка.
+     *
+     * @param conventions шаблоны вида {@code *Test} или {@code Test*}
+     * @return снимок соглашений
+     */
+    @NotNull
+    public static TestNamingMatcher compile(@NotNull List<String> conventions) {
+        final var suffixes = new LinkedHashSet<String>();
+        final var prefixes = new LinkedHashSet<String>();
+        for (var convention : conventions) {
+            final var pattern = convention == null ? "" : convention.trim();
+            if (pattern.length() > 1 && pattern.charAt(0) == WILDCARD && isAffix(pattern.substring(1))) {
+                suffixes.add(pattern.substring(1));
+            } else if (pattern.length() > 1 && pattern.charAt(pattern.length() - 1) == WILDCARD
+                    && isAffix(pattern.substring(0, pattern.length() - 1))) {
+                prefixes.add(pattern.substring(0, pattern.length() - 1));
+            } else {
+                log.logWarn("Invalid test naming convention: '" + convention + "'");
+            }
+        }
+        return new TestNamingMatcher(suffixes.toArray(String[]::new), prefixes.toArray(String[]::new));
+    }
+
+    /**
+     * Проверяет, что шаблон без звездочки — непустая часть Java-идентификатора.
+     *
+     * @param affix шаблон без звездочки
+     * @return true, если шаблон корректен
+     */
+    private static boolean isAffix(@NotNull String affix) {
+        if (affix.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < affix.length(); i++) {
+            if (!Character.isJavaIdentifierPart(affix.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Возвращает имена-кандидаты тестов для класса исходников в порядке соглашений:
+     * сначала суффиксные, затем префиксные.
+     *
+     * @param className простое имя класса исходников
+     * @return имена-кандидаты тестовых классов
+     */
+    @NotNull
+    public List<String> candidateNames(@NotNull String className) {
+        final var candidates = new ArrayList<String>(suffixes.length + prefixes.length);
+        for (var suffix : suffixes) {
+            candidates.add(className + suffix);
+        }
+        for (var prefix : prefixes) {
+            candidates.add(prefix + className);
+        }
+        return candidates;
+    }
+
+    /**
+     * Проверяет, может ли имя принадлежать тесту по одному из соглашений.
+     * Используется для отбора тестовых классов перед сопоставлением.
+     *
+     * @param testName простое имя класса
+     * @return true, если имя длиннее аффикса и начинается или заканчивается им
+     */
+    public boolean isCandidateName(@NotNull String testName) {
+        for (var suffix : suffixes) {
+            if (testName.length() > suffix.length() && testName.endsWith(suffix)) {
+                return true;
+            }
+        }
+        for (var prefix : prefixes) {
+            if (testName.length() > prefix.length() && testName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,93 @@
+package com.my.junit.testmanager.utils;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.newvfs.events.VFileCopyEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+
+/**
+ * Утилитарный класс для разбора событий VFS кэшами проекта.
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class VfsEventUtils {
+
+    /**
+     * Передает Java-файлы, затронутые событием VFS.
+     * Для события файла передается сам файл. Для созданной, скопированной, перемещенной или переименованной
+     * директории передаются вложенные Java-файлы, если директория находится в контенте проекта
+     * (или была в нем до перемещения). Директории вне контента — выходные директории сборки, {@code .idea},
+     * директории VCS, файлы других проектов — пропускаются. Удаление директории тоже пропускается:
+     * вложенные файлы становятся невалидными и отбрасываются кэшами при следующем обновлении.
+     * Вызывается из слушателя {@code VFS_CHANGES} после применения событий.
+     *
+     * @param project  проект, к контенту которого относятся события
+     * @param event    событие VFS
+     * @param consumer получатель затронутых Java-файлов
+     */
+    public static void forEachAffectedJavaFile(
+            @NotNull Project project,
+            @NotNull VFileEvent event,
+            @NotNull Consumer<VirtualFile> consumer
+    ) {
+        final var file = event.getFile();
+        if (file == null || !file.isDirectory()) {
+            if (isJavaFile(file)) {
+                consumer.accept(file);
+            }
+            return;
+        }
+        final var directory = getAffectedDirectory(event, file);
+        if (directory == null || project.isDisposed()) {
+            return;
+        }
+        final var fileIndex = ProjectFileIndex.getInstance(project);
+        final var movedOutOfContent = event instanceof VFileMoveEvent moveEvent
+                && !fileIndex.isInContent(directory)
+                && fileIndex.isInContent(moveEvent.getOldParent());
+        if (!movedOutOfContent && !fileIndex.isInContent(directory)) {
+            return;
+        }
+        VfsUtilCore.iterateChildrenRecursively(
+                directory,
+                child -> !child.isDirectory() || movedOutOfContent || !fileIndex.isExcluded(child),
+                child -> {
+                    if (isJavaFile(child)) {
+                        consumer.accept(child);
+                    }
+                    return true;
+                }
+        );
+    }
+
+    /**
+     * Возвращает директорию, содержимое которой затронуто событием.
+     *
+     * @param event     событие VFS
+     * @param directory директория события
+     * @return валидная директория или null, если содержимое обходить не нужно
+     */
+    @Nullable
+    private static VirtualFile getAffectedDirectory(@NotNull VFileEvent event, @NotNull VirtualFile directory) {
+        if (event instanceof VFileDeleteEvent) {
+            return null;
+        }
+        final var affected = event instanceof VFileCopyEvent copyEvent
+                ? copyEvent.getNewParent().findChild(copyEvent.getNewChildName())
+                : directory;
+        return affected != null && affected.isValid() ? affected : null;
+    }
+
+    private static boolean isJavaFile(@Nullable VirtualFile file) {
+        return file != null && !file.isDirectory() && JavaFileType.INSTANCE.equals(file.getFileType());
+    }
+}
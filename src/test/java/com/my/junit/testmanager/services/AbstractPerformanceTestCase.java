@@ -0,0 +1,281 @@
+package com.my.junit.testmanager.services;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.JavaModuleType;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.roots.ModuleRootModificationUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.testFramework.HeavyPlatformTestCase;
+import com.my.junit.testmanager.config.TestManagerConfig;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Базовый класс тестов производительности на синтетическом многомодульном проекте.
+ * Тесты выполняются вне EDT, как и поиск в плагине: сервисы поиска запускают non-blocking
+ * read action и не должны вызываться из EDT или под read lock.
+ * <p>
+ * Бюджеты задаются как {@code база + стоимость одного класса × количество классов}, поэтому
+ * рост стоимости на класс (например, загрузка AST вместо stub-дерева) ломает тест на любом размере.
+ * На медленных машинах бюджеты масштабируются свойством {@value #BUDGET_FACTOR_PROPERTY}.
+ */
+public abstract class AbstractPerformanceTestCase extends HeavyPlatformTestCase {
+    private static final String BUDGET_FACTOR_PROPERTY = "performance.budget.factor";
+    private static final int ATTEMPTS = 3;
+    private static final Logger LOG = Logger.getInstance(AbstractPerformanceTestCase.class);
+
+    /**
+     * Результат замера: лучшие время и объем выделенной памяти из нескольких попыток.
+     *
+     * @param elapsedMillis  время выполнения, мс
+     * @param allocatedBytes объем памяти, выделенной всеми потоками за время выполнения
+     */
+    protected record Measurement(long elapsedMillis, long allocatedBytes) {}
+
+    /**
+     * Бюджет операции на проекте заданного размера.
+     *
+     * @param baseMillis     постоянная часть бюджета времени, мс
+     * @param millisPerClass бюджет времени на один класс, мс
+     * @param baseBytes      постоянная часть бюджета памяти, байт
+     * @param bytesPerClass  бюджет памяти на один класс, байт
+     */
+    protected record Budget(long baseMillis, double millisPerClass, long baseBytes, long bytesPerClass) {}
+
+    private int defaultParallelism;
+
+    @Override
+    protected boolean runInDispatchThread() {
+        return false;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        defaultParallelism = TestManagerConfig.getInstance().getDiscoveryParallelism();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            TestManagerConfig.getInstance().setDiscoveryParallelism(defaultParallelism);
+            TestClassesCacheService.getInstance(getProject()).invalidate();
+        } catch (Throwable e) {
+            addSuppressedException(e);
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    /**
+     * Генерирует синтетический проект, создает его модули с корнями исходников и тестов
+     * и дожидается окончания индексации.
+     *
+     * @param classes общее количество классов
+     * @return описание проекта
+     * @throws IOException при ошибке записи исходников
+     */
+    @NotNull
+    protected SyntheticProjectGenerator.SyntheticProject createSyntheticProject(int classes) throws IOException {
+        final var syntheticProject = SyntheticProjectGenerator.generate(createTempDirectory().toPath(), classes);
+        for (var moduleName : syntheticProject.modules()) {
+            createJavaModule(syntheticProject.root().resolve(moduleName), moduleName);
+        }
+        DumbService.getInstance(getProject()).waitForSmartMode();
+        return syntheticProject;
+    }
+
+    /**
+     * Обновляет VFS после записи файлов на диск и дожидается окончания индексации.
+     *
+     * @param directory директория с записанными файлами
+     */
+    protected void refreshAndWaitForIndexes(@NotNull Path directory) {
+        refreshAndFind(directory);
+        DumbService.getInstance(getProject()).waitForSmartMode();
+    }
+
+    /**
+     * Создает Java-модуль с корнем исходников {@link SyntheticProjectGenerator#SOURCE_ROOT}
+     * и корнем тестов {@link SyntheticProjectGenerator#TEST_ROOT}.
+     *
+     * @param moduleDirectory директория модуля с уже записанными исходниками
+     * @param moduleName      имя модуля
+     * @return созданный модуль
+     */
+    @NotNull
+    protected Module createJavaModule(@NotNull Path moduleDirectory, @NotNull String moduleName) {
+        final var directory = refreshAndFind(moduleDirectory);
+        final var sourceRoot = refreshAndFind(moduleDirectory.resolve(SyntheticProjectGenerator.SOURCE_ROOT));
+        final var testRoot = refreshAndFind(moduleDirectory.resolve(SyntheticProjectGenerator.TEST_ROOT));
+        return computeInEdt(() -> {
+            final var module = WriteAction.compute(() -> ModuleManager.getInstance(getProject()).newModule(
+                    moduleDirectory.resolve(moduleName + ".iml"),
+                    JavaModuleType.getModuleType().getId()
+            ));
+            ModuleRootModificationUtil.updateModel(module, model -> {
+                final var contentEntry = model.addContentEntry(directory);
+                contentEntry.addSourceFolder(sourceRoot, false);
+                contentEntry.addSourceFolder(testRoot, true);
+            });
+            return module;
+        });
+    }
+
+    /**
+     * Выполняет операцию несколько раз и проверяет, что лучшие время и объем выделенной памяти
+     * укладываются в бюджет для проекта заданного размера.
+     *
+     * @param name    название операции для отчета
+     * @param classes количество классов проекта
+     * @param budget  бюджет операции
+     * @param prepare подготовка перед каждой попыткой (не замеряется)
+     * @param action  замеряемая операция
+     * @param <T>     тип результата операции
+     * @return результат последней попытки
+     */
+    protected <T> T assertWithinBudget(
+            @NotNull String name,
+            int classes,
+            @NotNull Budget budget,
+            @NotNull Runnable prepare,
+            @NotNull Supplier<T> action
+    ) {
+        final var result = new AtomicReference<T>();
+        final var best = measure(prepare, () -> result.set(action.get()));
+
+        final var factor = budgetFactor();
+        final var timeBudget = (long) ((budget.baseMillis() + budget.millisPerClass() * classes) * factor);
+        final var allocationBudget = (long) ((budget.baseBytes() + budget.bytesPerClass() * classes) * factor);
+        final var report = name + ", classes=" + classes
+                + ": elapsed=" + best.elapsedMillis() + " ms (budget " + timeBudget + " ms)"
+                + ", allocated=" + best.allocatedBytes() / 1024 + " KB (budget " + allocationBudget / 1024 + " KB)";
+        report(report);
+        assertTrue(report, best.elapsedMillis() <= timeBudget);
+        assertTrue(report, best.allocatedBytes() <= allocationBudget);
+        return result.get();
+    }
+
+    /**
+     * Выполняет операцию несколько раз и возвращает лучшие время и объем выделенной памяти.
+     *
+     * @param prepare подготовка перед каждой попыткой (не замеряется)
+     * @param action  замеряемая операция
+     * @return лучший замер
+     */
+    @NotNull
+    protected Measurement measure(@NotNull Runnable prepare, @NotNull Runnable action) {
+        var best = new Measurement(Long.MAX_VALUE, Long.MAX_VALUE);
+        for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+            prepare.run();
+            final var allocatedBefore = allocatedBytesByThread();
+            final var startNanos = System.nanoTime();
+            action.run();
+            final var elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            final var allocated = allocatedBytesSince(allocatedBefore);
+            best = new Measurement(Math.min(best.elapsedMillis(), elapsedMillis),
+                    Math.min(best.allocatedBytes(), allocated));
+        }
+        return best;
+    }
+
+    /**
+     * Выполняет операцию на EDT и возвращает ее результат.
+     *
+     * @param action операция
+     * @param <T>    тип результата
+     * @return результат операции
+     */
+    protected static <T> T computeInEdt(@NotNull Supplier<T> action) {
+        final var result = new AtomicReference<T>();
+        ApplicationManager.getApplication().invokeAndWait(() -> result.set(action.get()));
+        return result.get();
+    }
+
+    @NotNull
+    protected static ProgressIndicator newIndicator() {
+        return new EmptyProgressIndicator();
+    }
+
+    @NotNull
+    private static VirtualFile refreshAndFind(@NotNull Path path) {
+        final var file = requireNonNull(
+                LocalFileSystem.getInstance().refreshAndFindFileByNioFile(path),
+                path::toString
+        );
+        VfsUtil.markDirtyAndRefresh(false, true, true, file);
+        return file;
+    }
+
+    /**
+     * Возвращает объем памяти, выделенной каждым живым потоком JVM с момента его запуска.
+     */
+    @NotNull
+    private static Map<Long, Long> allocatedBytesByThread() {
+        final var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final var ids = threads.getAllThreadIds();
+        final var allocated = threads.getThreadAllocatedBytes(ids);
+        final var byThread = new HashMap<Long, Long>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            if (allocated[i] >= 0) {
+                byThread.put(ids[i], allocated[i]);
+            }
+        }
+        return byThread;
+    }
+
+    /**
+     * Возвращает объем памяти, выделенной потоками после снимка. Потоки пула, обрабатывающие модули,
+     * переиспользуются между задачами, поэтому их выделения попадают в разницу; выделения потоков,
+     * завершившихся до второго снимка, не учитываются.
+     *
+     * @param before снимок {@link #allocatedBytesByThread()}
+     * @return объем выделенной памяти, байт
+     */
+    private static long allocatedBytesSince(@NotNull Map<Long, Long> before) {
+        var allocated = 0L;
+        for (var entry : allocatedBytesByThread().entrySet()) {
+            allocated += entry.getValue() - before.getOrDefault(entry.getKey(), 0L);
+        }
+        return allocated;
+    }
+
+    /**
+     * Проверяет, задан ли множитель бюджетов явно. Проверки, чувствительные к загрузке машины
+     * (например, ускорение от параллельности), выполняются только на выделенных прогонах с явным множителем,
+     * а в остальных случаях результат только логируется.
+     */
+    protected static boolean isBudgetFactorConfigured() {
+        return System.getProperty(BUDGET_FACTOR_PROPERTY) != null;
+    }
+
+    /**
+     * Пишет результат замера в лог теста.
+     *
+     * @param report текст отчета
+     */
+    protected static void report(@NotNull String report) {
+        LOG.info(report);
+    }
+
+    private static double budgetFactor() {
+        return Double.parseDouble(System.getProperty(BUDGET_FACTOR_PROPERTY, "1"));
+    }
+}
@@ -0,0 +1,41 @@
+package com.my.junit.testmanager.services;
+
+import com.my.junit.testmanager.data.SearchType;
+
+import java.io.IOException;
+
+/**
+ * Производительность анализа релокации всех классов на синтетических проектах разного размера.
+ */
+public class RelocationAnalyzerPerformanceTest extends AbstractPerformanceTestCase {
+    /**
+     * Один проход по тестовым корням со сбором ссылок файлов, затем сопоставление классов исходников
+     * по карте имен.
+     */
+    private static final Budget ANALYZE_ALL = new Budget(3_000, 1.0, 256L << 20, 128L << 10);
+
+    public void testAnalyze1k() throws IOException {
+        doTestAnalyze(1_000);
+    }
+
+    public void testAnalyze10k() throws IOException {
+        doTestAnalyze(10_000);
+    }
+
+    public void testAnalyze50k() throws IOException {
+        doTestAnalyze(50_000);
+    }
+
+    private void doTestAnalyze(int classes) throws IOException {
+        final var syntheticProject = createSyntheticProject(classes);
+
+        final var relocations = assertWithinBudget(
+                "RelocationAnalyzer.analyze(ALL)",
+                classes,
+                ANALYZE_ALL,
+                () -> {},
+                () -> new RelocationAnalyzer(getProject()).analyze(SearchType.ALL, newIndicator())
+        );
+        assertEquals(syntheticProject.misplaced(), relocations.size());
+    }
+}
@@ -0,0 +1,41 @@
+package com.my.junit.testmanager.services;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Определение смены пакета, выполнимой одним рефакторингом пакета.
+ */
+public class RelocationExecutorTest {
+
+    @Test
+    public void renameOfLastSegmentIsSingleStep() {
+        assertTrue(RelocationExecutor.isSingleStepMove("com.example.old", "com.example.renamed"));
+        assertTrue(RelocationExecutor.isSingleStepMove("old", "renamed"));
+    }
+
+    @Test
+    public void samePackageIsNotMove() {
+        assertFalse(RelocationExecutor.isSingleStepMove("com.example.service", "com.example.service"));
+    }
+
+    @Test
+    public void moveToAnotherParentWithSameNameIsSingleStep() {
+        assertTrue(RelocationExecutor.isSingleStepMove("com.example.service", "com.other.service"));
+        assertTrue(RelocationExecutor.isSingleStepMove("service", "com.example.service"));
+        assertTrue(RelocationExecutor.isSingleStepMove("com.example.service", "com.example.api.service"));
+    }
+
+    @Test
+    public void moveToDefaultPackageIsNotSingleStep() {
+        assertFalse(RelocationExecutor.isSingleStepMove("com.service", "service"));
+    }
+
+    @Test
+    public void moveWithRenameIsNotSingleStep() {
+        assertFalse(RelocationExecutor.isSingleStepMove("com.example.service", "com.other.api"));
+        assertFalse(RelocationExecutor.isSingleStepMove("com.example.service", "com.example.api.impl"));
+    }
+}
@@ -0,0 +1,163 @@
+package com.my.junit.testmanager.services;
+
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Генератор исходников синтетического многомодульного проекта для тестов производительности.
+ * Половина классов — классы исходников, половина — их тесты с тестовыми методами JUnit 5.
+ * Каждый {@value #MISPLACED_TEST_EVERY}-й тест лежит в другом пакете, чем его класс,
+ * и импортирует его явно — такие тесты находит анализ релокации.
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+final class SyntheticProjectGenerator {
+    static final String BASE_PACKAGE = "com.example";
+    static final String SOURCE_ROOT = "src/main/java";
+    static final String TEST_ROOT = "src/test/java";
+    private static final int CLASSES_PER_PACKAGE = 50;
+    private static final int SOURCE_CLASSES_PER_MODULE = 250;
+    private static final int MISPLACED_TEST_EVERY = 10;
+    private static final String MISPLACED_PACKAGE = "misplaced";
+
+    /**
+     * Описание сгенерированного проекта.
+     *
+     * @param root          корневая директория проекта
+     * @param modules       имена модулей; директория модуля — root/имя
+     * @param sourceClasses количество классов исходников
+     * @param testClasses   количество тестовых классов
+     * @param misplaced     количество тестов, лежащих не в пакете своего класса
+     */
+    record SyntheticProject(
+            @NotNull Path root,
+            @NotNull List<String> modules,
+            int sourceClasses,
+            int testClasses,
+            int misplaced
+    ) {}
+
+    /**
+     * Записывает на диск проект из заданного количества классов, распределенных по модулям.
+     *
+     * @param root    корневая директория проекта
+     * @param classes общее количество классов (исходники и тесты поровну)
+     * @return описание проекта
+     * @throws IOException при ошибке записи
+     */
+    @NotNull
+    static SyntheticProject generate(@NotNull Path root, int classes) throws IOException {
+        final var sourceClasses = classes / 2;
+        final var moduleCount = Math.max(2,
+                (sourceClasses + SOURCE_CLASSES_PER_MODULE - 1) / SOURCE_CLASSES_PER_MODULE);
+        final var modules = new ArrayList<String>(moduleCount);
+        for (int m = 0; m < moduleCount; m++) {
+            modules.add(String.format("module%03d", m));
+        }
+
+        var misplaced = 0;
+        for (int i = 0; i < sourceClasses; i++) {
+            final var module = modules.get(i % moduleCount);
+            final var packageName = BASE_PACKAGE + "." + module + ".p" + (i / moduleCount / CLASSES_PER_PACKAGE);
+            final var className = "Service" + i;
+            writeClass(root.resolve(module).resolve(SOURCE_ROOT), packageName, className,
+                    sourceClassText(packageName, className));
+
+            final var isMisplaced = i % MISPLACED_TEST_EVERY == MISPLACED_TEST_EVERY - 1;
+            final var testPackage = isMisplaced ? packageName + "." + MISPLACED_PACKAGE : packageName;
+            writeClass(root.resolve(module).resolve(TEST_ROOT), testPackage, className + "Test",
+                    testClassText(testPackage, packageName + "." + className, className + "Test", i));
+            if (isMisplaced) {
+                misplaced++;
+            }
+        }
+        return new SyntheticProject(root, List.copyOf(modules), sourceClasses, sourceClasses, misplaced);
+    }
+
+    /**
+     * Записывает цепочку классов {@code Node0 → Node1 → ...}: каждый класс ссылается полями на два
+     * следующих, поэтому у первого класса {@code depth - 1} транзитивных зависимостей.
+     *
+     * @param sourceRoot  корень исходников
+     * @param packageName пакет классов
+     * @param depth       количество классов в цепочке
+     * @return FQCN первого класса цепочки
+     * @throws IOException при ошибке записи
+     */
+    @NotNull
+    static String generateDependencyChain(@NotNull Path sourceRoot, @NotNull String packageName, int depth)
+            throws IOException {
+        for (int i = 0; i < depth; i++) {
+            final var text = new StringBuilder()
+                    .append("package ").append(packageName).append(";\n\n")
+                    .append("public class Node").append(i).append(" {\n")
+                    .append("    private int value;\n");
+            if (i + 1 < depth) {
+                text.append("    private Node").append(i + 1).append(" next;\n");
+            }
+            if (i + 2 < depth) {
+                text.append("    private Node").append(i + 2).append(" skip;\n");
+            }
+            text.append("}\n");
+            writeClass(sourceRoot, packageName, "Node" + i, text.toString());
+        }
+        return packageName + ".Node0";
+    }
+
+    private static void writeClass(
+            @NotNull Path sourceRoot,
+            @NotNull String packageName,
+            @NotNull String className,
+            @NotNull String text
+    ) throws IOException {
+        final var directory = sourceRoot.resolve(packageName.replace('.', '/'));
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve(className + ".java"), text);
+    }
+
+    @NotNull
+    private static String sourceClassText(@NotNull String packageName, @NotNull String className) {
+        return "package " + packageName + ";\n\n"
+                + "public class " + className + " {\n"
+                + "    private int value;\n\n"
+                + "    public int getValue() {\n"
+                + "        return value;\n"
+                + "    }\n\n"
+                + "    public void setValue(int value) {\n"
+                + "        this.value = value;\n"
+                + "    }\n"
+                + "}\n";
+    }
+
+    @NotNull
+    private static String testClassText(
+            @NotNull String packageName,
+            @NotNull String sourceFqcn,
+            @NotNull String testName,
+            int index
+    ) {
+        final var text = new StringBuilder()
+                .append("package ").append(packageName).append(";\n\n")
+                .append("import ").append(sourceFqcn).append(";\n")
+                .append("import org.junit.jupiter.api.Test;\n")
+                .append("import org.junit.jupiter.params.ParameterizedTest;\n\n")
+                .append("public class ").append(testName).append(" {\n");
+        for (int t = 0; t < 1 + index % 4; t++) {
+            text.append("    @Test\n")
+                    .append("    void test").append(t).append("() {\n")
+                    .append("        new ").append(sourceFqcn.substring(sourceFqcn.lastIndexOf('.') + 1))
+                    .append("().setValue(").append(t).append(");\n")
+                    .append("    }\n\n");
+        }
+        text.append("    @ParameterizedTest\n")
+                .append("    void parameterized(int value) {\n")
+                .append("    }\n")
+                .append("}\n");
+        return text.toString();
+    }
+}
@@ -0,0 +1,100 @@
+package com.my.junit.testmanager.services;
+
+import com.my.junit.testmanager.data.TestMethodCounts;
+import com.my.junit.testmanager.utils.LoggerUtils;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Чтение и запись бинарного кэша тестовых классов.
+ */
+public class TestClassesCacheStorageTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void disableLogging() {
+        LoggerUtils.setLoggingEnabled(false);
+    }
+
+    @Test
+    public void savedCacheIsLoadedUnchanged() throws IOException {
+        final var storage = new TestClassesCacheStorage(cacheFile());
+        final var files = List.of(
+                new TestClassesCacheStorage.CachedFile("file:///src/test/java/a/FooTest.java", 100L, 2048L, List.of(
+                        new TestClassesCacheStorage.CachedClass("FooTest", "a.FooTest", "Unit",
+                                new TestMethodCounts(3, 1, 0, 2)),
+                        new TestClassesCacheStorage.CachedClass("Nested", "a.FooTest.Nested", "",
+                                new TestMethodCounts(1, 0, 4, 0)),
+                        new TestClassesCacheStorage.CachedClass("EmptyTest", "a.EmptyTest", "",
+                                new TestMethodCounts(0, 0, 0, 0)),
+                        new TestClassesCacheStorage.CachedClass("NotCountedTest", "a.NotCountedTest", "", null)
+                )),
+                new TestClassesCacheStorage.CachedFile("file:///src/test/java/b/Проверка.java", 200L, 0L, List.of())
+        );
+
+        storage.save(files);
+
+        assertEquals(files, storage.load());
+    }
+
+    @Test
+    public void missingCacheLoadsEmpty() {
+        assertTrue(new TestClassesCacheStorage(cacheFile()).load().isEmpty());
+    }
+
+    @Test
+    public void cacheOfAnotherVersionIsIgnored() throws IOException {
+        final var file = cacheFile();
+        Files.createDirectories(file.getParent());
+        try (var out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(Integer.MAX_VALUE);
+            out.writeInt(0);
+        }
+
+        assertTrue(new TestClassesCacheStorage(file).load().isEmpty());
+    }
+
+    @Test
+    public void truncatedCacheIsIgnored() throws IOException {
+        final var file = cacheFile();
+        final var storage = new TestClassesCacheStorage(file);
+        storage.save(List.of(new TestClassesCacheStorage.CachedFile("file:///FooTest.java", 1L, 1L, List.of(
+                new TestClassesCacheStorage.CachedClass("FooTest", "FooTest", "", new TestMethodCounts(1, 0, 0, 0))))));
+        final var content = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(content, content.length - 3));
+
+        assertTrue(storage.load().isEmpty());
+    }
+
+    @Test
+    public void deleteRemovesCacheAndTemporaryFileIsNotLeft() {
+        final var file = cacheFile();
+        final var storage = new TestClassesCacheStorage(file);
+        storage.save(List.of());
+        assertTrue(Files.isRegularFile(file));
+        assertFalse(Files.exists(file.resolveSibling(file.getFileName() + ".tmp")));
+
+        storage.delete();
+
+        assertFalse(Files.exists(file));
+        assertTrue(storage.load().isEmpty());
+    }
+
+    private Path cacheFile() {
+        return temporaryFolder.getRoot().toPath().resolve("cache").resolve("project.bin");
+    }
+}
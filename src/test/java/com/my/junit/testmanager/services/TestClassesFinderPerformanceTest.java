@@ -0,0 +1,100 @@
+package com.my.junit.testmanager.services;
+
+import com.intellij.openapi.application.ReadAction;
+import com.my.junit.testmanager.config.TestManagerConfig;
+import com.my.junit.testmanager.data.SearchType;
+import com.my.junit.testmanager.utils.PsiUtils;
+import org.jetbrains.jps.model.java.JavaSourceRootType;
+
+import java.io.IOException;
+
+/**
+ * Производительность поиска всех тестовых классов на синтетических проектах разного размера:
+ * сканирование модулей с прогретыми PSI и индексами, ответ из заполненного кэша и ускорение от параллельной обработки модулей.
+ */
+public class TestClassesFinderPerformanceTest extends AbstractPerformanceTestCase {
+    /**
+     * Сканирование без кэша плагина (stub-деревья и PSI прогреты): определение теста и подсчет методов.
+     */
+    private static final Budget FULL_SCAN = new Budget(3_000, 1.0, 256L << 20, 96L << 10);
+
+    /**
+     * Ответ из кэша: строки таблицы создаются по FQCN без перепроверки файлов.
+     */
+    private static final Budget CACHED = new Budget(1_000, 0.1, 32L << 20, 8L << 10);
+
+    /**
+     * Количество потоков параллельного сканирования и минимальное ускорение относительно последовательного обхода.
+     */
+    private static final int PARALLELISM = 4;
+    private static final double MIN_PARALLEL_SPEEDUP = 1.5;
+
+    public void testCollect1k() throws IOException {
+        doTestCollect(1_000);
+    }
+
+    public void testCollect10k() throws IOException {
+        doTestCollect(10_000);
+    }
+
+    public void testCollect50k() throws IOException {
+        doTestCollect(50_000);
+    }
+
+    private void doTestCollect(int classes) throws IOException {
+        final var syntheticProject = createSyntheticProject(classes);
+        final var finder = new TestClassesFinder(getProject());
+        final var cache = TestClassesCacheService.getInstance(getProject());
+
+        final var scanned = assertWithinBudget(
+                "TestClassesFinder.collect(ALL), plugin cache invalidated",
+                classes,
+                FULL_SCAN,
+                cache::invalidate,
+                () -> finder.collect(SearchType.ALL, null, newIndicator())
+        );
+        assertEquals(syntheticProject.testClasses(), scanned.size());
+
+        final var cached = assertWithinBudget(
+                "TestClassesFinder.collect(ALL), cached",
+                classes,
+                CACHED,
+                () -> {},
+                () -> finder.collect(SearchType.ALL, null, newIndicator())
+        );
+        assertEquals(syntheticProject.testClasses(), cached.size());
+    }
+
+    /**
+     * Сравнивает последовательный обход модулей, которым поиск был реализован до параллельной обработки
+     * ({@link PsiUtils#getAllPsiClassesFromAllModules} в одном read action), с параллельным поиском.
+     * Перед каждой попыткой сбрасывается только кэш плагина: stub-деревья и PSI остаются прогретыми,
+     * поэтому замеряется обход модулей и анализ классов, а не холодная загрузка индексов.
+     * Минимальное ускорение проверяется только при явно заданном множителе бюджетов,
+     * иначе результат только логируется.
+     */
+    public void testParallelSpeedup10k() throws IOException {
+        final var syntheticProject = createSyntheticProject(10_000);
+        final var finder = new TestClassesFinder(getProject());
+        final var cache = TestClassesCacheService.getInstance(getProject());
+
+        final var serial = measure(cache::invalidate,
+                () -> assertEquals(syntheticProject.testClasses(), ReadAction.compute(() ->
+                        finder.createTestClassInfoData(PsiUtils.getAllPsiClassesFromAllModules(
+                                getProject(), JavaSourceRootType.TEST_SOURCE))).size()));
+        TestManagerConfig.getInstance().setDiscoveryParallelism(PARALLELISM);
+        final var parallel = measure(cache::invalidate,
+                () -> assertEquals(syntheticProject.testClasses(),
+                        finder.collect(SearchType.ALL, null, newIndicator()).size()));
+
+        final var speedup = (double) serial.elapsedMillis() / Math.max(1, parallel.elapsedMillis());
+        final var report = "TestClassesFinder.collect(ALL), " + syntheticProject.modules().size() + " modules"
+                + ": serial walk " + serial.elapsedMillis() + " ms"
+                + ", parallelism=" + PARALLELISM + " " + parallel.elapsedMillis() + " ms"
+                + ", speedup=" + String.format("%.2f", speedup);
+        report(report);
+        if (isBudgetFactorConfigured() && Runtime.getRuntime().availableProcessors() >= PARALLELISM) {
+            assertTrue(report + " is below " + MIN_PARALLEL_SPEEDUP, speedup >= MIN_PARALLEL_SPEEDUP);
+        }
+    }
+}
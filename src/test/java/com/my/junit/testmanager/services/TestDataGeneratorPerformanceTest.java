@@ -0,0 +1,82 @@
+package com.my.junit.testmanager.services;
+
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.my.junit.testmanager.utils.PhaseMetrics;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Производительность генерации генераторов тестовых данных для цепочки зависимых классов.
+ * Стоимость зависит от глубины цепочки, но не от размера проекта, поэтому бюджет считается
+ * на сгенерированный класс и одинаков для проектов из 1k, 10k и 50k классов.
+ */
+public class TestDataGeneratorPerformanceTest extends AbstractPerformanceTestCase {
+    private static final String CHAIN_PACKAGE = SyntheticProjectGenerator.BASE_PACKAGE + ".chain";
+    private static final int CHAIN_DEPTH = 40;
+
+    /**
+     * Сбор зависимостей, формирование текста и запись файла генератора для каждого класса цепочки.
+     */
+    private static final Budget GENERATE = new Budget(2_000, 25.0, 64L << 20, 2L << 20);
+
+    public void testGenerate1k() throws IOException {
+        doTestGenerate(1_000);
+    }
+
+    public void testGenerate10k() throws IOException {
+        doTestGenerate(10_000);
+    }
+
+    public void testGenerate50k() throws IOException {
+        doTestGenerate(50_000);
+    }
+
+    private void doTestGenerate(int classes) throws IOException {
+        final var syntheticProject = createSyntheticProject(classes);
+        final var moduleDirectory = syntheticProject.root().resolve(syntheticProject.modules().get(0));
+        final var sourceRoot = moduleDirectory.resolve(SyntheticProjectGenerator.SOURCE_ROOT);
+        final var generatedDirectory = moduleDirectory.resolve(SyntheticProjectGenerator.TEST_ROOT)
+                .resolve(CHAIN_PACKAGE.replace('.', '/'));
+        final var rootFqcn = SyntheticProjectGenerator.generateDependencyChain(sourceRoot, CHAIN_PACKAGE, CHAIN_DEPTH);
+        refreshAndWaitForIndexes(sourceRoot);
+        final var rootClass = computeInEdt(() -> requireNonNull(JavaPsiFacade.getInstance(getProject())
+                .findClass(rootFqcn, GlobalSearchScope.projectScope(getProject())), rootFqcn));
+
+        final var generated = assertWithinBudget(
+                "TestDataGenerator.generateGeneratorForClass, project of " + classes + " classes",
+                CHAIN_DEPTH,
+                GENERATE,
+                () -> deleteGenerated(generatedDirectory),
+                () -> computeInEdt(() -> {
+                    new TestDataGenerator(getProject()).generateGeneratorForClass(rootClass);
+                    return PhaseMetricsService.getInstance(getProject()).getRecords().get(0)
+                            .get(PhaseMetrics.Counter.RESULTS);
+                })
+        );
+        assertEquals(CHAIN_DEPTH, generated.intValue());
+    }
+
+    /**
+     * Удаляет генераторы предыдущей попытки, иначе генерация будет пропущена для существующих классов.
+     */
+    private void deleteGenerated(@NotNull Path generatedDirectory) {
+        try {
+            WriteAction.runAndWait(() -> {
+                final var directory = LocalFileSystem.getInstance().refreshAndFindFileByNioFile(generatedDirectory);
+                if (directory != null) {
+                    directory.delete(this);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.my.junit.testmanager.utils;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Определение тестовых классов по пулу констант class-файлов, собранных вручную.
+ */
+public class ClassFileTestScannerTest {
+    private static final String OBJECT = "java/lang/Object";
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void disableLogging() {
+        LoggerUtils.setLoggingEnabled(false);
+    }
+
+    @Test
+    public void classNamedTestIsDetected() throws IOException {
+        final var classFile = new ClassFileBuilder();
+        final var file = write("a/b/FooTest.class", classFile.build("a/b/FooTest", OBJECT));
+
+        assertEquals("a.b.FooTest", ClassFileTestScanner.readTestClassName(file));
+    }
+
+    @Test
+    public void subclassOfTestCaseIsDetected() throws IOException {
+        final var classFile = new ClassFileBuilder();
+        final var file = write("a/FooChecks.class", classFile.build("a/FooChecks", "junit/framework/TestCase"));
+
+        assertEquals("a.FooChecks", ClassFileTestScanner.readTestClassName(file));
+    }
+
+    @Test
+    public void junitAndTestNgAnnotationsAreDetected() throws IOException {
+        final var jupiter = new ClassFileBuilder();
+        jupiter.utf8("Lorg/junit/jupiter/api/Test;");
+        final var testNg = new ClassFileBuilder();
+        testNg.utf8("Lorg/testng/annotations/Test;");
+        final var parameterized = new ClassFileBuilder();
+        parameterized.utf8("Lorg/junit/jupiter/params/ParameterizedTest;");
+
+        assertEquals("a.Jupiter", ClassFileTestScanner.readTestClassName(
+                write("a/Jupiter.class", jupiter.build("a/Jupiter", OBJECT))));
+        assertEquals("a.TestNg", ClassFileTestScanner.readTestClassName(
+                write("a/TestNg.class", testNg.build("a/TestNg", OBJECT))));
+        assertEquals("a.Parameterized", ClassFileTestScanner.readTestClassName(
+                write("a/Parameterized.class", parameterized.build("a/Parameterized", OBJECT))));
+    }
+
+    @Test
+    public void regularClassIsNotDetected() throws IOException {
+        final var classFile = new ClassFileBuilder();
+        classFile.utf8("Lorg/junit/jupiter/api/Disabled;");
+        classFile.utf8("Lcom/example/Test;");
+        classFile.utf8("testSomething");
+
+        assertNull(ClassFileTestScanner.readTestClassName(
+                write("a/Service.class", classFile.build("a/Service", OBJECT))));
+    }
+
+    @Test
+    public void wideAndOtherConstantsAreSkipped() throws IOException {
+        final var classFile = new ClassFileBuilder();
+        classFile.longConstant(Long.MAX_VALUE);
+        classFile.integerConstant(42);
+        classFile.doubleConstant(Math.PI);
+        classFile.methodHandle();
+        classFile.stringConstant("Lorg/junit/Test;");
+        classFile.longConstant(0L);
+
+        assertEquals("a.Wide", ClassFileTestScanner.readTestClassName(
+                write("a/Wide.class", classFile.build("a/Wide", OBJECT))));
+    }
+
+    @Test
+    public void malformedFilesAreIgnored() throws IOException {
+        final var valid = new ClassFileBuilder().build("a/BrokenTest", OBJECT);
+
+        assertNull(ClassFileTestScanner.readTestClassName(write("a/Text.class", "not a class".getBytes())));
+        assertNull(ClassFileTestScanner.readTestClassName(
+                write("a/BrokenTest.class", Arrays.copyOf(valid, valid.length / 2))));
+    }
+
+    @Test
+    public void outputDirectoryScanReportsTopLevelTestClasses() throws IOException {
+        write("a/FooTest.class", new ClassFileBuilder().build("a/FooTest", OBJECT));
+        write("a/FooTest$Nested.class", new ClassFileBuilder().build("a/FooTest$Nested", OBJECT));
+        final var nestedTest = new ClassFileBuilder();
+        nestedTest.utf8("Lorg/junit/jupiter/api/Test;");
+        write("a/b/Outer$InnerChecks.class", nestedTest.build("a/b/Outer$InnerChecks", OBJECT));
+        write("a/b/Service.class", new ClassFileBuilder().build("a/b/Service", OBJECT));
+        write("a/b/readme.txt", "FooTest".getBytes());
+
+        assertEquals(Set.of("a.FooTest", "a.b.Outer"),
+                ClassFileTestScanner.scanOutputDirectory(temporaryFolder.getRoot().toPath()));
+    }
+
+    @Test
+    public void missingOutputDirectoryIsEmpty() {
+        assertTrue(ClassFileTestScanner.scanOutputDirectory(
+                temporaryFolder.getRoot().toPath().resolve("missing")).isEmpty());
+    }
+
+    private Path write(String relativePath, byte[] content) throws IOException {
+        final var file = temporaryFolder.getRoot().toPath().resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        return Files.write(file, content);
+    }
+
+    /**
+     * Минимальный class-файл: пул констант, имя класса и суперкласса без полей и методов.
+     */
+    private static final class ClassFileBuilder {
+        private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+        private final DataOutputStream pool = new DataOutputStream(poolBytes);
+        private int poolCount = 1;
+
+        private int utf8(String value) throws IOException {
+            pool.writeByte(1);
+            pool.writeUTF(value);
+            return poolCount++;
+        }
+
+        private int classRef(String internalName) throws IOException {
+            final var nameIndex = utf8(internalName);
+            pool.writeByte(7);
+            pool.writeShort(nameIndex);
+            return poolCount++;
+        }
+
+        private void integerConstant(int value) throws IOException {
+            pool.writeByte(3);
+            pool.writeInt(value);
+            poolCount++;
+        }
+
+        private void longConstant(long value) throws IOException {
+            pool.writeByte(5);
+            pool.writeLong(value);
+            poolCount += 2;
+        }
+
+        private void doubleConstant(double value) throws IOException {
+            pool.writeByte(6);
+            pool.writeDouble(value);
+            poolCount += 2;
+        }
+
+        private void stringConstant(String value) throws IOException {
+            final var valueIndex = utf8(value);
+            pool.writeByte(8);
+            pool.writeShort(valueIndex);
+            poolCount++;
+        }
+
+        private void methodHandle() throws IOException {
+            pool.writeByte(15);
+            pool.writeByte(6);
+            pool.writeShort(1);
+            poolCount++;
+        }
+
+        private byte[] build(String thisName, String superName) throws IOException {
+            final var thisIndex = classRef(thisName);
+            final var superIndex = classRef(superName);
+            final var bytes = new ByteArrayOutputStream();
+            final var out = new DataOutputStream(bytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(61);
+            out.writeShort(poolCount);
+            out.write(poolBytes.toByteArray());
+            out.writeShort(0x21);
+            out.writeShort(thisIndex);
+            out.writeShort(superIndex);
+            // interfaces, fields, methods, attributes
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(0);
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.my.junit.testmanager.utils;
+
+import com.my.junit.testmanager.config.data.GroupData;
+import com.my.junit.testmanager.config.data.ProfileData;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Назначение групп скомпилированными правилами: префиксное дерево для простых шаблонов,
+ * {@link Pattern} для остальных и общий порядок групп из настроек.
+ */
+public class GroupMatcherTest {
+    private static final ProfileData OTHER_PROFILE = ProfileData.of("Other");
+
+    @BeforeClass
+    public static void disableLogging() {
+        LoggerUtils.setLoggingEnabled(false);
+    }
+
+    @Test
+    public void earlierPrefixGroupWinsOverLaterRegexGroup() {
+        final var prefix = group("prefix", "com.example.*");
+        final var regex = group("regex", ".*Test$");
+        final var matcher = GroupMatcher.compile(List.of(prefix, regex), ProfileData.DEFAULT);
+
+        assertSame(prefix, matcher.match("com.example.FooTest"));
+        assertSame(regex, matcher.match("org.example.FooTest"));
+    }
+
+    @Test
+    public void earlierRegexGroupWinsOverLaterPrefixGroup() {
+        final var regex = group("regex", ".*IT$");
+        final var prefix = group("prefix", "com.example.*");
+        final var matcher = GroupMatcher.compile(List.of(regex, prefix), ProfileData.DEFAULT);
+
+        assertSame(regex, matcher.match("com.example.FooIT"));
+        assertSame(prefix, matcher.match("com.example.FooTest"));
+    }
+
+    @Test
+    public void unanchoredPatternMatchesInsidePath() {
+        final var service = group("service", "service\\.impl");
+        final var matcher = GroupMatcher.compile(List.of(service), ProfileData.DEFAULT);
+
+        assertSame(service, matcher.match("com.example.service.impl.FooTest"));
+        assertNull(matcher.match("com.example.service.api.FooTest"));
+    }
+
+    @Test
+    public void anchoredPatternMatchesOnlyAtStart() {
+        final var anchored = group("anchored", "^com\\.example");
+        final var matcher = GroupMatcher.compile(List.of(anchored), ProfileData.DEFAULT);
+
+        assertSame(anchored, matcher.match("com.example.FooTest"));
+        assertNull(matcher.match("org.com.example.FooTest"));
+    }
+
+    @Test
+    public void unescapedDotMatchesAnyCharacter() {
+        final var dotted = group("dotted", "^com.example");
+        final var matcher = GroupMatcher.compile(List.of(dotted), ProfileData.DEFAULT);
+
+        assertSame(dotted, matcher.match("comXexample.FooTest"));
+    }
+
+    @Test
+    public void invalidAndBlankPatternsAreSkipped() {
+        final var invalid = group("invalid", "[unclosed");
+        final var blank = group("blank", " ");
+        final var valid = group("valid", "Foo");
+        final var matcher = GroupMatcher.compile(List.of(invalid, blank, valid), ProfileData.DEFAULT);
+
+        assertSame(valid, matcher.match("com.example.FooTest"));
+        assertNull(matcher.match("com.example.BarTest"));
+    }
+
+    @Test
+    public void groupsOfOtherProfilesAreIgnored() {
+        final var other = new GroupData("other", "com.*", null, GroupData.COLOR_DEFAULT_HEX,
+                List.of(OTHER_PROFILE));
+        final var active = group("active", "com.example.*");
+        final var matcher = GroupMatcher.compile(List.of(other, active), ProfileData.DEFAULT);
+
+        assertSame(active, matcher.match("com.example.FooTest"));
+        assertNull(matcher.match("com.other.FooTest"));
+    }
+
+    @Test
+    public void matchesSequentialPatternEvaluation() {
+        final var random = new Random(42);
+        final var regexes = new String[]{
+                "com.example.module1.*", "^com\\.example\\.module2", ".*IT$", "module3", "^org.acme",
+                "Service(Impl)?Test", "com.example.module4.*", "\\.api\\.", "^com.example.module1.service",
+        };
+        final var segments = new String[]{"com", "org", "example", "acme", "module1", "module2", "module3",
+                "module4", "service", "api", "impl"};
+        final var suffixes = new String[]{"Test", "IT", "ServiceTest", "ServiceImplTest", "Tests"};
+
+        for (int round = 0; round < 50; round++) {
+            final var groups = new ArrayList<GroupData>();
+            final var patterns = new ArrayList<Pattern>();
+            for (int i = 0; i < 1 + random.nextInt(regexes.length); i++) {
+                final var regex = regexes[random.nextInt(regexes.length)];
+                groups.add(group("group" + i, regex));
+                patterns.add(Pattern.compile(regex));
+            }
+            final var matcher = GroupMatcher.compile(groups, ProfileData.DEFAULT);
+
+            for (int p = 0; p < 100; p++) {
+                final var path = new StringBuilder();
+                for (int s = 0; s < 1 + random.nextInt(5); s++) {
+                    path.append(segments[random.nextInt(segments.length)]).append('.');
+                }
+                path.append("Foo").append(suffixes[random.nextInt(suffixes.length)]);
+
+                GroupData expected = null;
+                for (int i = 0; i < patterns.size(); i++) {
+                    if (patterns.get(i).matcher(path).find()) {
+                        expected = groups.get(i);
+                        break;
+                    }
+                }
+                assertEquals(path + " " + groups, expected, matcher.match(path.toString()));
+            }
+        }
+    }
+
+    private static GroupData group(String name, String regex) {
+        return new GroupData(name, regex, null, GroupData.COLOR_DEFAULT_HEX, List.of(ProfileData.DEFAULT));
+    }
+}
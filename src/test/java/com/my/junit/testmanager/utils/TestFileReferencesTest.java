@@ -0,0 +1,69 @@
+package com.my.junit.testmanager.utils;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Видимость классов в тестовом файле с учетом затенения имен явными импортами.
+ */
+public class TestFileReferencesTest {
+
+    @Test
+    public void singleTypeImportIsReferenced() {
+        final var references = TestFileReferences.of("com.example.test",
+                List.of("com.example.service.FooService"), List.of());
+
+        assertTrue(references.references("com.example.service.FooService"));
+        assertFalse(references.references("com.example.service.BarService"));
+    }
+
+    @Test
+    public void singleTypeImportShadowsOnDemandImport() {
+        final var references = TestFileReferences.of("com.example.test",
+                List.of("com.example.api.Foo"), List.of("com.example.impl"));
+
+        assertTrue(references.references("com.example.api.Foo"));
+        assertFalse(references.references("com.example.impl.Foo"));
+        assertTrue(references.references("com.example.impl.Bar"));
+    }
+
+    @Test
+    public void singleTypeImportShadowsOwnPackage() {
+        final var references = TestFileReferences.of("com.example.service",
+                List.of("com.example.api.Foo"), List.of());
+
+        assertFalse(references.references("com.example.service.Foo"));
+        assertTrue(references.references("com.example.service.Bar"));
+    }
+
+    @Test
+    public void onDemandImportOfClassExposesNestedTypes() {
+        final var references = TestFileReferences.of("com.example.test",
+                List.of(), List.of("com.example.service.Outer"));
+
+        assertTrue(references.references("com.example.service.Outer.Nested"));
+        assertFalse(references.references("com.example.service.Outer"));
+    }
+
+    @Test
+    public void defaultPackageSeesOnlyDefaultPackageClasses() {
+        final var references = TestFileReferences.of("", List.of(), List.of());
+
+        assertTrue(references.references("Foo"));
+        assertFalse(references.references("com.example.Foo"));
+    }
+
+    @Test
+    public void unrelatedPackageIsNotReferenced() {
+        final var references = TestFileReferences.of("com.example.test",
+                List.of("com.example.api.Foo"), List.of("com.example.impl"));
+
+        assertFalse(references.references("org.other.Bar"));
+        assertFalse(references.references("com.example.impl.sub.Bar"));
+        assertFalse(references.references("Bar"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.my.junit.testmanager.utils;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Компиляция соглашений об именовании тестов и вычисление имен-кандидатов.
+ */
+public class TestNamingMatcherTest {
+
+    @BeforeClass
+    public static void disableLogging() {
+        LoggerUtils.setLoggingEnabled(false);
+    }
+
+    @Test
+    public void candidateNamesFollowSuffixesThenPrefixes() {
+        final var matcher = TestNamingMatcher.compile(List.of("Test*", "*Test", "*IT"));
+
+        assertEquals(List.of("FooTest", "FooIT", "TestFoo"), matcher.candidateNames("Foo"));
+    }
+
+    @Test
+    public void invalidConventionsAreSkipped() {
+        final var matcher = TestNamingMatcher.compile(
+                Arrays.asList(null, "", "*", "Test", "*Te*st", "*Te-st", "**Test", " *Spec ", "Should*"));
+
+        assertEquals(List.of("FooSpec", "ShouldFoo"), matcher.candidateNames("Foo"));
+    }
+
+    @Test
+    public void duplicateConventionsAreMerged() {
+        final var matcher = TestNamingMatcher.compile(List.of("*Test", "Test*", " *Test", "Test* "));
+
+        assertEquals(List.of("FooTest", "TestFoo"), matcher.candidateNames("Foo"));
+    }
+
+    @Test
+    public void emptyConventionsHaveNoCandidates() {
+        final var matcher = TestNamingMatcher.compile(List.of());
+
+        assertTrue(matcher.candidateNames("Foo").isEmpty());
+        assertFalse(matcher.isCandidateName("FooTest"));
+    }
+
+    @Test
+    public void candidateNameMustBeLongerThanAffix() {
+        final var matcher = TestNamingMatcher.compile(List.of("*Test", "Should*"));
+
+        assertTrue(matcher.isCandidateName("FooTest"));
+        assertTrue(matcher.isCandidateName("ShouldFoo"));
+        assertFalse(matcher.isCandidateName("Test"));
+        assertFalse(matcher.isCandidateName("Should"));
+        assertFalse(matcher.isCandidateName("TestFoo"));
+        assertFalse(matcher.isCandidateName("FooTests"));
+    }
+}